@@ -1,5 +1,6 @@
 package com.meloncity.citiz.config;
 
+import com.meloncity.citiz.util.file.ContentAddressedFileStorageService;
 import com.meloncity.citiz.util.file.FileStorageService;
 import com.meloncity.citiz.util.file.LocalFileStorageService;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,9 @@ public class FileStorageConfig {
         if ("s3".equalsIgnoreCase(storage)) {
             //return ctx.getBean(S3FileStorageService.class);
             return ctx.getBean(LocalFileStorageService.class);
+        } else if ("cas".equalsIgnoreCase(storage)) {
+            // 로컬 디스크 + SHA-256 기반 중복 제거
+            return ctx.getBean(ContentAddressedFileStorageService.class);
         } else {
             return ctx.getBean(LocalFileStorageService.class);
         }
@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "file")
 @Getter
 public class FileStorageProperties {
-    private String storage; // local / s3
+    private String storage; // local / cas / s3
 
     private Local local;
     private S3 s3;
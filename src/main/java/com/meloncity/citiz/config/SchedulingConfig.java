@@ -0,0 +1,20 @@
+package com.meloncity.citiz.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling // @Scheduled 어노테이션을 활성화
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4); // 주기 작업끼리 서로 지연시키지 않도록 여러 스레드 사용
+        scheduler.setThreadNamePrefix("scheduled-task-"); // 스레드 이름 접두사
+        scheduler.initialize();
+        return scheduler;
+    }
+}
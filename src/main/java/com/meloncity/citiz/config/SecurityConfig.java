@@ -33,6 +33,7 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         //.requestMatchers("/users/**").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // DLT 조회/재처리 등 운영 API
 //                        .anyRequest().authenticated()
                         .anyRequest().permitAll()                 // 나머지도 전부 허용 (개발 단계용)
                 )
@@ -1,10 +1,8 @@
 package com.meloncity.citiz.config;
 
-import com.meloncity.citiz.util.file.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -12,7 +10,6 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final CorsProperties corsProperties;
-    private final FileStorageService fileStorageService;
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -23,8 +20,5 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true);
     }
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry){
-        registry.addResourceHandler("/img/**").addResourceLocations("file:" + fileStorageService.getBaseDir());
-    }
+    // /img/** 는 ImageController(LocalFileServer)에서 ETag/Range/sendfile 을 지원하여 직접 전송
 }
\ No newline at end of file
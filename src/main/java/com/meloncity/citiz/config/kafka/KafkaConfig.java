@@ -1,46 +1,102 @@
 package com.meloncity.citiz.config.kafka;
 
 import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.handler.exception.CustomApiException;
+import com.meloncity.citiz.service.ChatMessageRetryService;
+import com.meloncity.citiz.util.codec.ChatMessageKafkaDeserializer;
+import com.meloncity.citiz.util.codec.ChatMessageKafkaSerializer;
+import com.meloncity.citiz.util.codec.ChatPayloadCodec;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final ChatPayloadCodec chatPayloadCodec;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
-    @Value("${app.kafka.consumer.max-poll-records:10}")
+    @Value("${kafka.topic.chat-dlt:chat-messages.DLT}")
+    private String deadLetterTopic;
+
+    @Value("${app.kafka.consumer.max-poll-records:500}")
     private int maxPollRecords;
 
     @Value("${app.kafka.consumer.fetch-max-wait-ms:2000}")
     private int fetchMaxWaitMs;
 
+    // 리스너 컨테이너 스레드 수 (토픽 파티션 수 이하로 설정, 파티션 단위로 분배되므로 채팅방 순서는 유지)
+    @Value("${app.kafka.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${app.kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${app.kafka.producer.enable-idempotence:true}")
+    private boolean enableIdempotence;
+
+    @Value("${app.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${app.kafka.producer.buffer-memory:33554432}")
+    private long bufferMemory;
+
+    @Value("${app.kafka.producer.max-in-flight-requests:5}")
+    private int maxInFlightRequests;
+
+    @Value("${app.kafka.producer.delivery-timeout-ms:30000}")
+    private int deliveryTimeoutMs;
+
     // Producer 설정
+    // linger/batch 로 짧은 시간 동안 모인 메시지를 한 번에 전송하고 압축하여 처리량을 높이며,
+    // idempotence 로 재시도 시에도 파티션 내 중복/순서 역전이 생기지 않도록 함 (max-in-flight 는 5 이하)
     @Bean
     public ProducerFactory<String, ChatMessageDto> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequests);
+        config.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new ChatMessageKafkaSerializer(chatPayloadCodec));
     }
 
     @Bean
@@ -48,29 +104,116 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * 디코딩할 수 없는 레코드를 원본 바이트 그대로 DLT 에 적재하기 위한 템플릿
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterBytesTemplate() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new ByteArraySerializer()));
+    }
+
     // Consumer 설정
     @Bean
     public ConsumerFactory<String, ChatMessageDto> consumerFactory() {
-        JsonDeserializer<ChatMessageDto> deserializer = new JsonDeserializer<>(ChatMessageDto.class);
-        deserializer.setRemoveTypeHeaders(false);
-        deserializer.addTrustedPackages("com.meloncity.citiz.dto");
-        deserializer.setUseTypeMapperForKey(true);
+        // 바이너리/JSON 레코드를 모두 읽을 수 있는 코덱 기반 역직렬화기
+        // 디코딩 실패가 poll 안에서 예외로 끝나지 않도록 감싸서, 실패 레코드는 오류 처리기를 거쳐 DLT 로 보냄
+        ErrorHandlingDeserializer<ChatMessageDto> deserializer =
+                new ErrorHandlingDeserializer<>(new ChatMessageKafkaDeserializer(chatPayloadCodec));
 
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, deserializer);
         config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
 
         return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
     }
 
+    /**
+     * 컨테이너 오류 처리 후 복구 불가 레코드를 DLT 로 적재
+     * DLT 토픽/헤더는 ChatDeadLetterService 와 같으며, 총 시도 횟수 헤더를 함께 기록
+     */
+    @Bean
+    public ConsumerRecordRecoverer chatDeadLetterRecoverer(ChatMessageRetryService retryService) {
+        // 역직렬화에 실패한 레코드는 원본 바이트 그대로 적재
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, deadLetterBytesTemplate());
+        templates.put(ChatMessageDto.class, kafkaTemplate());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, ex) -> new TopicPartition(deadLetterTopic, -1));
+        recoverer.setHeadersFunction(retryService::deadLetterHeaders);
+        return (record, ex) -> {
+            recoverer.accept(record, ex);
+            retryService.recordDeadLetter();
+        };
+    }
+
+    /**
+     * 원본 토픽 컨테이너 오류 처리
+     * 리스너는 처리 실패를 재시도 토픽으로 옮기므로 여기까지 오는 오류는 재시도 토픽/DLT 발행 실패 같은 일시 오류이며,
+     * 오프셋을 커밋하지 않고 같은 레코드를 다시 처리함 (재시도를 모두 실패하면 DLT)
+     */
+    @Bean
+    public DefaultErrorHandler chatErrorHandler(@Qualifier("chatDeadLetterRecoverer") ConsumerRecordRecoverer recoverer) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 9L));
+        errorHandler.addNotRetryableExceptions(CustomApiException.class, IllegalArgumentException.class);
+        return errorHandler;
+    }
+
+    /**
+     * 재시도 토픽 컨테이너 오류 처리
+     * 지수 백오프로 같은 레코드를 재처리하고 (재시도 토픽 파티션만 대기하며 원본 토픽은 막지 않음),
+     * 시도 횟수를 모두 소진하거나 재시도할 수 없는 오류면 DLT 로 보냄
+     */
+    @Bean
+    public DefaultErrorHandler chatRetryErrorHandler(@Qualifier("chatDeadLetterRecoverer") ConsumerRecordRecoverer recoverer,
+                                                     ChatMessageRetryService retryService) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, retryService.retryBackOff());
+        errorHandler.addNotRetryableExceptions(CustomApiException.class, IllegalArgumentException.class);
+        return errorHandler;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> kafkaListenerContainerFactory(
+            @Qualifier("chatErrorHandler") DefaultErrorHandler chatErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(chatErrorHandler);
+        return factory;
+    }
+
+    /**
+     * 배치 리스너용 컨테이너 팩토리
+     * poll 단위로 수신한 레코드 목록을 한 번에 리스너에 전달
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> batchKafkaListenerContainerFactory(
+            @Qualifier("chatErrorHandler") DefaultErrorHandler chatErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(chatErrorHandler);
+        return factory;
+    }
+
+    /**
+     * 재시도 토픽 리스너용 컨테이너 팩토리
+     * 레코드 단위로 처리하며, 총 시도 횟수 계산을 위해 전달 횟수 헤더(kafka_deliveryAttempt)를 추가
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> retryKafkaListenerContainerFactory(
+            @Qualifier("chatRetryErrorHandler") DefaultErrorHandler chatRetryErrorHandler) {
         ConcurrentKafkaListenerContainerFactory<String, ChatMessageDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setCommonErrorHandler(chatRetryErrorHandler);
+        factory.getContainerProperties().setDeliveryAttemptHeader(true);
         return factory;
     }
 }
@@ -27,6 +27,9 @@ public class RedisPubSubConfig {
     @Value("${redis.chat.pubsub.channel.notification:chat:notification}")
     private String notificationChannel;
 
+    @Value("${redis.chat.pubsub.channel.room-prefix:chat:room:}")
+    private String roomChannelPrefix;
+
     /**
      * 입장 알림을 위한 Pub/Sub 채널 설정
      */
@@ -83,6 +86,7 @@ public class RedisPubSubConfig {
                 .joinChannel(joinChannel)
                 .leaveChannel(leaveChannel)
                 .notificationChannel(notificationChannel)
+                .roomChannelPrefix(roomChannelPrefix)
                 .build();
     }
 
@@ -95,5 +99,11 @@ public class RedisPubSubConfig {
         private final String joinChannel;
         private final String leaveChannel;
         private final String notificationChannel;
+        // 채팅방별 브로드캐스트 채널 접두사 (chat:room:{roomId})
+        private final String roomChannelPrefix;
+
+        public String roomChannel(Long roomId) {
+            return roomChannelPrefix + roomId;
+        }
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.meloncity.citiz.util.CustomDateUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -202,29 +203,36 @@ public class ChatController {
     }
 
     /**
-     * 채팅방의 메시지 히스토리를 조회합니다.
+     * 채팅방의 메시지 히스토리를 커서 기반으로 조회합니다.
+     * 응답의 nextCursor 를 다음 요청의 cursor 로 전달하면 이전 메시지를 이어서 조회합니다.
      * @param roomId 채팅방 ID
      * @param user 요청한 사용자
-     * @param page 페이지 번호 (기본값: 0)
-     * @param size 페이지 크기 (기본값: 50, 최대: 100)
-     * @return 메시지 히스토리 목록
+     * @param cursor 이전 응답의 nextCursor
+     * @param before 이 메시지 ID 이전의 메시지를 조회
+     * @param beforeTime 이 시각 이전의 메시지를 조회
+     * @param limit 조회 개수 (기본값: 50, 최대: 100)
+     * @return 메시지 히스토리 목록과 다음 페이지 커서
      */
     @GetMapping("/rooms/{roomId}/messages")
-    public ResponseEntity<List<ChatMessageHistoryResponse>> getChatHistory(
+    public ResponseEntity<CursorPageRes<ChatMessageHistoryResponse>> getChatHistory(
             @PathVariable Long roomId,
             @AuthenticationPrincipal CustomUserDetails user,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        log.info("채팅 히스토리 조회 - Room: {}, User: {}, Page: {}, Size: {}",
-                roomId, user.getId(), page, size);
+        log.info("채팅 히스토리 조회 - Room: {}, User: {}, Cursor: {}, Before: {}, BeforeTime: {}, Limit: {}",
+                roomId, user.getId(), cursor, before, beforeTime, limit);
 
         try {
-            // 페이지 크기 제한 (최대 100개)
-            size = Math.min(size, 100);
+            // 조회 개수 제한 (1 ~ 100개)
+            limit = Math.max(1, Math.min(limit, 100));
 
-            List<ChatMessageHistoryResponse> messages = chatService.getChatHistory(roomId, user.getId(), page, size);
-            log.info("채팅 히스토리 조회 완료 - Room: {}, Messages: {}", roomId, messages.size());
+            CursorPageRes<ChatMessageHistoryResponse> messages =
+                    chatService.getChatHistory(roomId, user.getId(), cursor, before, beforeTime, limit);
+            log.info("채팅 히스토리 조회 완료 - Room: {}, Messages: {}, HasNext: {}",
+                    roomId, messages.content().size(), messages.hasNext());
             return ResponseEntity.ok(messages);
 
         } catch (IllegalArgumentException e) {
@@ -269,6 +277,59 @@ public class ChatController {
         }
     }
 
+    /**
+     * 채팅방의 메시지를 지정한 메시지까지 읽음 처리합니다.
+     * @param roomId 채팅방 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     * @param user 메시지를 읽은 사용자
+     * @return 읽음 처리 결과
+     */
+    @PutMapping("/rooms/{roomId}/read")
+    public ResponseEntity<ResponseDto<String>> markMessagesAsReadUpTo(
+            @PathVariable Long roomId,
+            @RequestParam Long messageId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        log.debug("읽음 위치 갱신 요청 - Room: {}, Message: {}, User: {}", roomId, messageId, user.getId());
+
+        chatService.markMessagesAsReadUpTo(roomId, user.getId(), messageId);
+
+        return ResponseEntity.ok(new ResponseDto<>(1, "SUCCESS",
+                "메시지가 읽음 처리되었습니다", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
+    /**
+     * 채팅방에서 읽지 않은 메시지 수를 조회합니다.
+     * @param roomId 채팅방 ID
+     * @param user 조회하는 사용자
+     * @return 읽지 않은 메시지 수
+     */
+    @GetMapping("/rooms/{roomId}/unread-count")
+    public ResponseEntity<ResponseDto<Long>> getUnreadMessageCount(
+            @PathVariable Long roomId,
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        long unreadCount = chatService.getUnreadMessageCount(roomId, user.getId());
+
+        return ResponseEntity.ok(new ResponseDto<>(1, unreadCount,
+                "읽지 않은 메시지 수 조회 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
+    /**
+     * 읽지 않은 메시지가 있는 채팅방 수를 조회합니다. (배지 표시용)
+     * @param user 조회하는 사용자
+     * @return 읽지 않은 메시지가 있는 채팅방 수
+     */
+    @GetMapping("/unread/rooms-count")
+    public ResponseEntity<ResponseDto<Long>> countRoomsWithUnreadMessages(
+            @AuthenticationPrincipal CustomUserDetails user) {
+
+        long roomCount = chatService.countRoomsWithUnreadMessages(user.getId());
+
+        return ResponseEntity.ok(new ResponseDto<>(1, roomCount,
+                "읽지 않은 메시지가 있는 채팅방 수 조회 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
     /**
      * STOMP를 통해 채팅 메시지를 수신하고 Redis Stream에 발행합니다. (WebSocket)
      * 클라이언트가 '/app/chat/message'로 메시지를 보낼 때 호출됩니다.
@@ -282,8 +343,8 @@ public class ChatController {
             // 메시지 검증
             validateMessage(messageDto);
 
-            String streamId = chatService.publishMessage(messageDto);
-            log.info("메시지 Stream 발행 완료 - Stream ID: {}, Room: {}", streamId, messageDto.getRoomId());
+            chatService.publishMessage(messageDto);
+            log.info("메시지 Kafka 발행 요청 완료 - Temp ID: {}, Room: {}", messageDto.getTempId(), messageDto.getRoomId());
 
         } catch (IllegalArgumentException e) {
             log.error("메시지 발행 실패: {}", e.getMessage());
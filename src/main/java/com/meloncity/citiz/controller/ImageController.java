@@ -0,0 +1,28 @@
+package com.meloncity.citiz.controller;
+
+import com.meloncity.citiz.util.file.LocalFileServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String PREFIX = "/img";
+
+    private final LocalFileServer localFileServer;
+
+    // 업로드 파일 조회 (ETag/Range 지원, HEAD 포함)
+    @GetMapping(PREFIX + "/**")
+    public void getImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length() + PREFIX.length());
+        localFileServer.serve(UriUtils.decode(path, StandardCharsets.UTF_8), request, response);
+    }
+}
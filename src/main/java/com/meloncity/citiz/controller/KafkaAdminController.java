@@ -0,0 +1,95 @@
+package com.meloncity.citiz.controller;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.dto.DeadLetterRecordDto;
+import com.meloncity.citiz.dto.ResponseDto;
+import com.meloncity.citiz.service.ChatDeadLetterService;
+import com.meloncity.citiz.service.ChatMessageRetryService;
+import com.meloncity.citiz.service.ChatMessageRetryService.RetryStats;
+import com.meloncity.citiz.service.RoomLaneExecutor;
+import com.meloncity.citiz.service.RoomLaneExecutor.LaneStats;
+import com.meloncity.citiz.util.CustomDateUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Kafka 채팅 컨슈머 상태 조회 및 DLT 재처리를 위한 관리용 컨트롤러
+ * /api/admin/** 는 SecurityConfig 에서 ROLE_ADMIN 권한을 가진 사용자만 접근하도록 제한합니다.
+ */
+@RestController
+@RequestMapping("/api/admin/kafka")
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaAdminController {
+
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final ChatMessageRetryService retryService;
+    private final ChatDeadLetterService deadLetterService;
+
+    /**
+     * 채팅방 레인별 대기 작업 수, 처리 지연, 처리 건수를 조회합니다.
+     * GET /api/admin/kafka/lanes
+     *
+     * @return 레인별 처리 현황 (레인 미사용 시 빈 목록)
+     */
+    @GetMapping("/lanes")
+    public ResponseEntity<ResponseDto<List<LaneStats>>> getLaneStats() {
+        List<LaneStats> stats = roomLaneExecutor.getStats();
+
+        return ResponseEntity.ok(new ResponseDto<>(1, stats,
+                "레인 처리 현황 조회 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
+    /**
+     * 재시도 토픽 이동/재시도/DLT 누적 건수와 비율을 조회합니다.
+     * GET /api/admin/kafka/retry-stats
+     *
+     * @return 재시도/DLT 현황
+     */
+    @GetMapping("/retry-stats")
+    public ResponseEntity<ResponseDto<RetryStats>> getRetryStats() {
+        return ResponseEntity.ok(new ResponseDto<>(1, retryService.getStats(),
+                "재시도 현황 조회 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
+    /**
+     * 파티션별 최근 DLT 레코드를 조회합니다.
+     * GET /api/admin/kafka/dlt?limit=20
+     *
+     * @param limit 파티션별 최대 조회 건수
+     * @return 최근 적재 순 DLT 레코드 목록
+     */
+    @GetMapping("/dlt")
+    public ResponseEntity<ResponseDto<List<DeadLetterRecordDto>>> getDeadLetters(
+            @RequestParam(defaultValue = "20") int limit) {
+        int safeLimit = Math.min(Math.max(limit, 1), 100);
+        List<DeadLetterRecordDto> records = deadLetterService.findRecent(safeLimit);
+
+        return ResponseEntity.ok(new ResponseDto<>(1, records,
+                "DLT 조회 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+
+    /**
+     * DLT 레코드를 원본 채팅 토픽으로 다시 발행합니다.
+     * POST /api/admin/kafka/dlt/replay?partition=0&offset=42
+     *
+     * @param partition DLT 파티션
+     * @param offset    DLT 오프셋
+     * @return 재발행한 메시지
+     */
+    @PostMapping("/dlt/replay")
+    public ResponseEntity<ResponseDto<ChatMessageDto>> replayDeadLetter(
+            @RequestParam int partition,
+            @RequestParam long offset) {
+        log.info("DLT 재처리 요청 - Partition: {}, Offset: {}", partition, offset);
+        ChatMessageDto messageDto = deadLetterService.replay(partition, offset);
+
+        return ResponseEntity.ok(new ResponseDto<>(1, messageDto,
+                "DLT 재처리 성공", CustomDateUtil.toStringFormat(LocalDateTime.now())));
+    }
+}
@@ -21,11 +21,24 @@ public class PostController {
     private final PostService postService;
     private final CommentService commentService;
 
-    // 게시글 전체 조회
+    // 게시글 피드 조회 (커서 기반, 태그 필터 선택)
     @GetMapping
-    public String getAllPosts(){
-        postService.getPostAll();
-        return "getAllPosts";
+    public ResponseEntity<ResponseDto<CursorPageRes<PostFeedItemDto>>> getPostFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "20") int size){
+        // 조회 개수 제한 (1 ~ 50개)
+        size = Math.max(1, Math.min(size, 50));
+        CursorPageRes<PostFeedItemDto> feed = postService.getPostFeed(cursor, tag, size);
+
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto<>(
+                        1,
+                        feed,
+                        "게시글 피드 조회 완료",
+                        CustomDateUtil.toStringFormat(LocalDateTime.now())
+                ));
     }
 
     // 게시글 조회
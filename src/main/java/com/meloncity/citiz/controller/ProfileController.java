@@ -8,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -45,7 +44,7 @@ public class ProfileController {
                 ? result.roles()
                 : java.util.List.of("ROLE_USER");
 
-        String token = jwtTokenProvider.createToken(result.email(), roles);
+        String token = jwtTokenProvider.createToken(result.email(), result.id(), result.name(), roles);
         jwtTokenProvider.createRefreshToken(result.email(), roles, response);
 
         LoginRes payload = new LoginRes(
@@ -73,12 +72,12 @@ public class ProfileController {
             @RequestParam(required = false) String name,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createDate,desc") String sort
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
-        String[] s = sort.split(",");
-        Sort.Direction dir = (s.length > 1 && s[1].equalsIgnoreCase("asc")) ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort by = Sort.by(dir, s[0]);
-        return profileService.searchProfile(email, name, page, size, by);
+        // 관련도 순으로 정렬, 조회 개수 제한 (1 ~ 50개)
+        page = Math.max(0, page);
+        size = Math.max(1, Math.min(size, 50));
+        return profileService.searchProfile(email, name, page, size, withTotal);
     }
 
 }
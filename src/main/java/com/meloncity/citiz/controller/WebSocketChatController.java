@@ -3,8 +3,11 @@ package com.meloncity.citiz.controller;
 import com.meloncity.citiz.domain.Profile;
 import com.meloncity.citiz.domain.chat.MessageType;
 import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.dto.ChatSendAckDto;
 import com.meloncity.citiz.dto.ProfileRespDto;
+import com.meloncity.citiz.service.ChatPresenceService;
 import com.meloncity.citiz.service.ChatService;
+import com.meloncity.citiz.service.ChatTypingAggregator;
 import com.meloncity.citiz.service.ProfileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +34,8 @@ public class WebSocketChatController {
     private final ChatService chatService;
     private final ProfileService profileService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatPresenceService chatPresenceService;
+    private final ChatTypingAggregator chatTypingAggregator;
 
     /**
      * 채팅 메시지를 처리합니다.
@@ -86,11 +91,19 @@ public class WebSocketChatController {
 //            log.info("채팅 메시지 Stream 발행 완료 - Room: {}, Stream ID: {}, Sender: {}",
 //                    roomId, streamId, userId);
 
-            // Kafka에 메시지 발행
-            String kafkaResult = chatService.publishMessage(messageDto);
+            // Kafka에 메시지 발행, 브로커 ack 결과를 tempId 와 함께 발신자 세션에 전달
+            chatService.publishMessage(messageDto)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            sendAck(sessionId, ChatSendAckDto.failed(messageDto, "메시지 전송에 실패했습니다. 다시 시도해주세요."));
+                        } else {
+                            sendAck(sessionId, ChatSendAckDto.persisted(messageDto,
+                                    result.getRecordMetadata().partition(), result.getRecordMetadata().offset()));
+                        }
+                    });
 
-            log.info("채팅 메시지 Kafka 발행 완료 - Room: {}, Result: {}, Sender: {}",
-                    roomId, kafkaResult, userId);
+            log.info("채팅 메시지 Kafka 발행 요청 - Room: {}, Temp ID: {}, Sender: {}",
+                    roomId, messageDto.getTempId(), userId);
 
         } catch (IllegalArgumentException e) {
             log.warn("채팅 메시지 처리 실패 - Room: {}, Sender: {}, Reason: {}",
@@ -168,6 +181,19 @@ public class WebSocketChatController {
         }
     }
 
+    /**
+     * 발신자 세션에 메시지 발행 결과를 전송합니다.
+     * @param sessionId 세션 ID
+     * @param ack 발행 결과
+     */
+    private void sendAck(String sessionId, ChatSendAckDto ack) {
+        try {
+            messagingTemplate.convertAndSend("/queue/ack-" + sessionId, ack);
+        } catch (Exception e) {
+            log.error("메시지 발행 결과 전송 실패 - Session: {}, Temp ID: {}", sessionId, ack.tempId(), e);
+        }
+    }
+
     /**
      * 사용자가 채팅방에 연결되었을 때 처리합니다.
      * 클라이언트에서 /app/chat/connect/{roomId}로 연결 메시지를 보내면 처리
@@ -194,7 +220,7 @@ public class WebSocketChatController {
             validateRoomAccess(roomId, userId);
 
             // 온라인 사용자 목록에 추가 (Redis)
-            addToOnlineUsers(roomId, userId);
+            addToOnlineUsers(roomId, userId, sessionId);
 
             // 연결 성공 메시지 전송
             sendConnectionSuccessMessage(roomId, sessionId);
@@ -230,7 +256,7 @@ public class WebSocketChatController {
             headerAccessor.getSessionAttributes().remove("userId");
 
             // 온라인 사용자 목록에서 제거 (Redis)
-            removeFromOnlineUsers(roomId, userId);
+            removeFromOnlineUsers(roomId, userId, sessionId);
 
             log.info("채팅방 연결 해제 완료 - Room: {}, User: {}, Session: {}", roomId, userId, sessionId);
 
@@ -256,26 +282,11 @@ public class WebSocketChatController {
             SimpMessageHeaderAccessor headerAccessor) {
 
         try {
-            // 타이핑 정보 유효성 검증
-            typingInfo.setUserId(userId);
-
-            // 사용자 이름 설정
-            if (typingInfo.getUserName() == null) {
-                try {
-                    Profile profile = profileService.findById(userId);
-                    ProfileRespDto profileRespDto = ProfileRespDto.from(profile);
-                    typingInfo.setUserName(profileRespDto.name());
-                } catch (Exception e) {
-                    typingInfo.setUserName("User_" + userId);
-                }
-            }
-
             log.debug("타이핑 상태 수신 - Room: {}, User: {}, Typing: {}",
                     roomId, userId, typingInfo.isTyping());
 
-            // 다른 참여자들에게 타이핑 상태 브로드캐스트
-            String destination = "/topic/chat/" + roomId + "/typing";
-            messagingTemplate.convertAndSend(destination, typingInfo);
+            // 이벤트마다 브로드캐스트하지 않고 채팅방별로 병합하여 주기적으로 전송
+            chatTypingAggregator.onTyping(roomId, userId, typingInfo.getUserName(), typingInfo.isTyping());
 
         } catch (Exception e) {
             log.error("타이핑 상태 처리 중 오류 발생 - Room: {}, User: {}", roomId, userId, e);
@@ -300,22 +311,22 @@ public class WebSocketChatController {
      * 온라인 사용자 목록에 사용자를 추가합니다.
      * @param roomId 채팅방 ID
      * @param userId 사용자 ID
+     * @param sessionId 세션 ID
      */
-    private void addToOnlineUsers(Long roomId, Long userId) {
-        // TODO: Redis를 통한 온라인 사용자 관리
-        // redisService.addOnlineUser(roomId, userId);
-        log.debug("온라인 사용자 추가 - Room: {}, User: {}", roomId, userId);
+    private void addToOnlineUsers(Long roomId, Long userId, String sessionId) {
+        chatPresenceService.join(roomId, userId, sessionId);
+        log.debug("온라인 사용자 추가 - Room: {}, User: {}, Session: {}", roomId, userId, sessionId);
     }
 
     /**
      * 온라인 사용자 목록에서 사용자를 제거합니다.
      * @param roomId 채팅방 ID
      * @param userId 사용자 ID
+     * @param sessionId 세션 ID
      */
-    private void removeFromOnlineUsers(Long roomId, Long userId) {
-        // TODO: Redis를 통한 온라인 사용자 관리
-        // redisService.removeOnlineUser(roomId, userId);
-        log.debug("온라인 사용자 제거 - Room: {}, User: {}", roomId, userId);
+    private void removeFromOnlineUsers(Long roomId, Long userId, String sessionId) {
+        chatPresenceService.leave(roomId, userId, sessionId);
+        log.debug("온라인 사용자 제거 - Room: {}, User: {}, Session: {}", roomId, userId, sessionId);
     }
 
     /**
@@ -15,7 +15,7 @@ import java.util.List;
         @Index(name = "ix_comment_post_id", columnList = "post_id"),
         @Index(name = "ix_comment_parent_id", columnList = "sub_comment_id")
 })
-@SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 1)
+@SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Comment extends BaseTimeEntity {
@@ -13,9 +13,10 @@ import java.util.List;
 @Entity
 @Table(name = "post", indexes = {
         @Index(name = "ix_post_created_by", columnList = "created_by"),
-        @Index(name = "ix_post_create_date", columnList = "create_date")
+        @Index(name = "ix_post_create_date", columnList = "create_date"),
+        @Index(name = "ix_post_create_date_id", columnList = "create_date, id")
 })
-@SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 1)
+@SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Post extends BaseTimeEntity {
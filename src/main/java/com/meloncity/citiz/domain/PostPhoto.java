@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "post_photo", indexes = {
         @Index(name = "ix_post_photo_post_id", columnList = "post_id")
 })
-@SequenceGenerator(name = "post_photo_seq", sequenceName = "post_photo_seq", allocationSize = 1)
+@SequenceGenerator(name = "post_photo_seq", sequenceName = "post_photo_seq", allocationSize = 50)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class PostPhoto extends BaseTimeEntity {
@@ -22,6 +22,14 @@ public class PostPhoto extends BaseTimeEntity {
     @Column(name = "img_url", nullable = false, length = 1000)
     private String imgUrl;
 
+    // 피드/목록용 축소 이미지 경로 (생성 전이면 null)
+    @Column(name = "small_url", length = 1000)
+    private String smallUrl;
+
+    // 상세 화면용 축소 이미지 경로 (생성 전이면 null)
+    @Column(name = "medium_url", length = 1000)
+    private String mediumUrl;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
@@ -10,16 +10,19 @@ import lombok.AccessLevel;
 import java.util.ArrayList;
 import java.util.List;
 
+// 검색용 lower(name)/lower(email) trigram GIN 인덱스는 JPA 로 표현할 수 없어 db/migration/profile_search_trgm_index.sql 로 생성
 @Entity
 @Table(name = "profile", indexes = {
         @Index(name = "ix_profile_email", columnList = "email", unique = true)
 })
+@SequenceGenerator(name = "profile_seq", sequenceName = "profile_id_seq", allocationSize = 50)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Profile extends BaseTimeEntity {
 
+    // 기존 IDENTITY 컬럼이 사용하던 profile_id_seq 를 그대로 사용 (db/migration/pooled_sequences.sql 참고)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profile_seq")
     private Long id;
 
     @Column(name = "email", nullable = false, length = 320)
@@ -0,0 +1,49 @@
+package com.meloncity.citiz.domain;
+
+import com.meloncity.citiz.domain.common.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 내용 주소(SHA-256) 기반 저장소의 파일 참조 수
+ * 같은 내용의 파일은 한 번만 저장하고, 참조 수가 0 인 채로 유예 시간이 지나면 실제 파일을 삭제합니다.
+ */
+@Entity
+@Table(name = "stored_blob")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class StoredBlob extends BaseTimeEntity {
+
+    // "{sha256}.{확장자}"
+    @Id
+    @Column(name = "file_name", length = 80)
+    private String fileName;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    public StoredBlob(String fileName, long size) {
+        this.fileName = fileName;
+        this.size = size;
+        this.refCount = 1;
+    }
+
+    public void increaseRefCount() {
+        this.refCount++;
+    }
+
+    /**
+     * @return 감소 후 남은 참조 수
+     */
+    public int decreaseRefCount() {
+        if (this.refCount > 0) {
+            this.refCount--;
+        }
+        return this.refCount;
+    }
+}
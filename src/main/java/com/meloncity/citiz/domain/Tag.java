@@ -13,7 +13,7 @@ import java.util.List;
 @Table(name = "tag", uniqueConstraints = {
         @UniqueConstraint(name = "uk_tag_tag", columnNames = "tag")
 })
-@SequenceGenerator(name = "tag_seq", sequenceName = "tag_seq", allocationSize = 1)
+@SequenceGenerator(name = "tag_seq", sequenceName = "tag_seq", allocationSize = 50)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Tag extends BaseTimeEntity {
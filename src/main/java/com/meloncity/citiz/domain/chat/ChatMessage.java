@@ -14,7 +14,11 @@ import java.time.LocalDateTime;
  * Redis Stream에서 처리된 메시지를 데이터베이스에 영구 저장하기 위한 엔티티
  */
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "ix_chat_messages_room_create_date_id", columnList = "room_id, create_date, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "ux_chat_messages_room_sender_temp_id", columnNames = {"room_id", "sender_id", "temp_id"})
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +27,7 @@ public class ChatMessage extends BaseTimeEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_seq")
-    @SequenceGenerator(name = "chat_message_seq", sequenceName = "chat_message_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "chat_message_seq", sequenceName = "chat_message_sequence", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -58,6 +62,12 @@ public class ChatMessage extends BaseTimeEntity {
     @Column(name = "stream_id")
     private String streamId;
 
+    /**
+     * 클라이언트 임시 메시지 ID (채팅방, 발신자와 함께 중복 저장 방지 키로 사용)
+     */
+    @Column(name = "temp_id", length = 64)
+    private String tempId;
+
     /**
      * 메시지를 읽음 처리하는 메서드
      */
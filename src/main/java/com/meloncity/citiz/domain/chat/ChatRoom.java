@@ -3,6 +3,7 @@ package com.meloncity.citiz.domain.chat;
 import com.meloncity.citiz.domain.common.BaseTimeEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,11 +19,12 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Getter
+@DynamicUpdate // active_participant_count 는 원자적 UPDATE 로만 변경하므로 변경된 컬럼만 갱신
 public class ChatRoom extends BaseTimeEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_room_seq")
-    @SequenceGenerator(name = "chat_room_seq", sequenceName = "chat_room_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "chat_room_seq", sequenceName = "chat_room_sequence", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -52,6 +54,14 @@ public class ChatRoom extends BaseTimeEntity {
     @Builder.Default
     private Boolean isPrivate = false;
 
+    /**
+     * 활성 참여자 수 (비정규화 컬럼)
+     * ChatRoomRepository 의 increment/decrement 쿼리로만 갱신
+     */
+    @Column(name = "active_participant_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer activeParticipantCount = 0;
+
     /**
      * 마지막 메시지 정보를 업데이트하는 메서드
      * @param message 마지막 메시지 내용
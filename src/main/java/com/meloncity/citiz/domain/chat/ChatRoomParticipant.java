@@ -22,7 +22,7 @@ public class ChatRoomParticipant extends BaseTimeEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_participant_seq")
-    @SequenceGenerator(name = "chat_participant_seq", sequenceName = "chat_participant_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "chat_participant_seq", sequenceName = "chat_participant_sequence", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -49,9 +49,13 @@ public class ChatRoomParticipant extends BaseTimeEntity {
     @Builder.Default
     private ParticipantRole role = ParticipantRole.MEMBER;
 
+    // 읽음 위치는 (생성일시, ID) 순서로 비교 (pooled 시퀀스라 ID 만으로는 채팅방 내 순서를 보장하지 않음)
     @Column(name = "last_read_message_id")
     private Long lastReadMessageId;
 
+    @Column(name = "last_read_message_create_date")
+    private LocalDateTime lastReadMessageCreateDate;
+
     @Column(name = "last_read_at")
     private LocalDateTime lastReadAt;
 
@@ -75,9 +79,11 @@ public class ChatRoomParticipant extends BaseTimeEntity {
     /**
      * 마지막 읽은 메시지 업데이트
      * @param messageId 마지막 읽은 메시지 ID
+     * @param messageCreateDate 마지막 읽은 메시지의 생성일시
      */
-    public void updateLastReadMessage(Long messageId) {
+    public void updateLastReadMessage(Long messageId, LocalDateTime messageCreateDate) {
         this.lastReadMessageId = messageId;
+        this.lastReadMessageCreateDate = messageCreateDate;
         this.lastReadAt = LocalDateTime.now();
     }
 
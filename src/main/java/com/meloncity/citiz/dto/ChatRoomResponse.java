@@ -24,4 +24,5 @@ public class ChatRoomResponse {
     private Integer maxParticipants;
     private Boolean isPrivate;
     private LocalDateTime timestamp;
+    private Long unreadCount;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.meloncity.citiz.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 목록 조회용 프로젝션
+ * 채팅방 정보와 활성 참여자 수를 한 번의 GROUP BY 쿼리로 조회
+ */
+public interface ChatRoomSummary {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getLastMessage();
+    LocalDateTime getLastMessageTime();
+    Integer getMaxParticipants();
+    Boolean getIsPrivate();
+    LocalDateTime getCreateDate();
+    Long getParticipantCount();
+}
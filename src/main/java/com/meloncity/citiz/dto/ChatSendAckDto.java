@@ -0,0 +1,30 @@
+package com.meloncity.citiz.dto;
+
+/**
+ * 메시지 발행 결과를 발신자 세션에 알리는 DTO
+ * 클라이언트는 tempId 로 전송 중인 메시지와 매칭합니다.
+ */
+public record ChatSendAckDto(
+        String tempId,
+        Long roomId,
+        AckStatus status,
+        Integer partition,
+        Long offset,
+        String message,
+        long timestamp
+) {
+    public enum AckStatus {
+        PERSISTED, // Kafka 에 기록 완료 (이후 DB 저장 및 브로드캐스트)
+        FAILED     // 발행 실패, 클라이언트 재전송 필요
+    }
+
+    public static ChatSendAckDto persisted(ChatMessageDto messageDto, int partition, long offset) {
+        return new ChatSendAckDto(messageDto.getTempId(), messageDto.getRoomId(), AckStatus.PERSISTED,
+                partition, offset, null, System.currentTimeMillis());
+    }
+
+    public static ChatSendAckDto failed(ChatMessageDto messageDto, String message) {
+        return new ChatSendAckDto(messageDto.getTempId(), messageDto.getRoomId(), AckStatus.FAILED,
+                null, null, message, System.currentTimeMillis());
+    }
+}
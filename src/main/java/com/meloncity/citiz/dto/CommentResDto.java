@@ -30,4 +30,12 @@ public class CommentResDto {
         this.avatar = profile.getImageUrl();
         this.content = comment.getContent();
     }
+
+    public CommentResDto(Long id, Long profileId, String author, String avatar, String content){
+        this.id = id;
+        this.profileId = profileId;
+        this.author = author;
+        this.avatar = avatar;
+        this.content = content;
+    }
 }
@@ -0,0 +1,10 @@
+package com.meloncity.citiz.dto;
+
+import java.util.List;
+
+public record CursorPageRes<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
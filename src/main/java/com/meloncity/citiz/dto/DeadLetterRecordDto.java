@@ -0,0 +1,15 @@
+package com.meloncity.citiz.dto;
+
+/**
+ * 데드레터 토픽(DLT)에 적재된 채팅 메시지 조회용 DTO
+ */
+public record DeadLetterRecordDto(
+        int partition,
+        long offset,
+        long timestamp,
+        String exception,
+        String errorMessage,
+        Integer attempts,
+        ChatMessageDto message
+) {
+}
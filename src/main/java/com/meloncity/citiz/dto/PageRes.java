@@ -2,12 +2,15 @@ package com.meloncity.citiz.dto;
 
 import java.util.List;
 
+/**
+ * totalElements / totalPages 는 전체 개수를 요청하지 않은 경우 null (count 쿼리 생략)
+ */
 public record PageRes<T>(
         List<T> content,
         int page,
         int size,
-        long totalElements,
-        int totalPages,
+        Long totalElements,
+        Integer totalPages,
         boolean hasNext
 ) {
 }
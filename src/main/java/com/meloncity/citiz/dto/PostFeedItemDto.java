@@ -0,0 +1,21 @@
+package com.meloncity.citiz.dto;
+
+import java.util.List;
+
+/**
+ * 게시글 피드 목록 항목 DTO
+ * 상세 조회와 달리 본문 미리보기와 대표 사진 한 장, 댓글 수만 포함합니다.
+ */
+public record PostFeedItemDto(
+        Long postId,
+        String title,
+        String contentPreview,
+        String createdAt,
+        Long profileId,
+        String profileName,
+        String profileImg,
+        String thumbnail,
+        List<String> tags,
+        long commentCount
+) {
+}
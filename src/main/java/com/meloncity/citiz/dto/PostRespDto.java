@@ -34,7 +34,8 @@ public class PostRespDto {
 
 
     //post_photo Entity
-    private List<String> images; // 파일 경로
+    private List<String> images; // 파일 경로 (상세용 축소본, 없으면 원본)
+    private List<String> originalImages; // 원본 파일 경로
 
     //post_tag Entity
     private List<String> tags;
@@ -0,0 +1,14 @@
+package com.meloncity.citiz.dto;
+
+import java.util.List;
+
+/**
+ * 채팅방에서 현재 입력 중인 사용자 목록 (주기적으로 병합하여 전송)
+ */
+public record TypingStatusDto(
+        Long roomId,
+        List<TypingUser> users,
+        long timestamp
+) {
+    public record TypingUser(Long userId, String userName) {}
+}
@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 채팅 메시지 엔티티에 대한 데이터 액세스 리포지토리
@@ -15,32 +17,89 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     /**
-     * 특정 채팅방의 메시지를 생성일시 역순으로 페이징하여 조회
+     * 특정 채팅방의 최신 메시지를 (생성일시, ID) 역순으로 조회 (첫 페이지)
      * @param roomId 채팅방 ID
-     * @param offset 시작 오프셋
      * @param limit 조회할 개수
      * @return 메시지 목록
      */
     @Query("SELECT cm FROM ChatMessage cm " +
+            "JOIN FETCH cm.sender " +
             "WHERE cm.room.id = :roomId " +
-            "ORDER BY cm.createDate DESC " +
-            "LIMIT :limit OFFSET :offset")
-    List<ChatMessage> findByRoomIdOrderByCreatedAtDesc(
+            "ORDER BY cm.createDate DESC, cm.id DESC " +
+            "LIMIT :limit")
+    List<ChatMessage> findLatestByRoomId(
             @Param("roomId") Long roomId,
-            @Param("offset") int offset,
             @Param("limit") int limit);
 
     /**
-     * 특정 채팅방의 읽지 않은 메시지 수 조회
+     * 커서 (생성일시, ID) 이전의 메시지를 역순으로 조회 (keyset 페이지네이션)
+     * (room_id, create_date, id) 인덱스를 타므로 스크롤 깊이와 무관하게 일정한 비용
      * @param roomId 채팅방 ID
-     * @param userId 사용자 ID
+     * @param createDate 커서 메시지의 생성일시
+     * @param id 커서 메시지의 ID
+     * @param limit 조회할 개수
+     * @return 메시지 목록
+     */
+    @Query("SELECT cm FROM ChatMessage cm " +
+            "JOIN FETCH cm.sender " +
+            "WHERE cm.room.id = :roomId " +
+            "AND (cm.createDate < :createDate OR (cm.createDate = :createDate AND cm.id < :id)) " +
+            "ORDER BY cm.createDate DESC, cm.id DESC " +
+            "LIMIT :limit")
+    List<ChatMessage> findByRoomIdBefore(
+            @Param("roomId") Long roomId,
+            @Param("createDate") LocalDateTime createDate,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
+    /**
+     * 특정 채팅방에서 읽음 위치 (생성일시, ID) 이후의 읽지 않은 메시지 수 조회
+     * (room_id, create_date, id) 인덱스 범위 스캔으로 처리
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID (본인이 보낸 메시지는 제외)
+     * @param createDate 읽음 위치 메시지의 생성일시
+     * @param id 읽음 위치 메시지의 ID
      * @return 읽지 않은 메시지 수
      */
     @Query("SELECT COUNT(cm) FROM ChatMessage cm " +
             "WHERE cm.room.id = :roomId " +
-            "AND cm.sender.id != :userId " +
-            "AND cm.status != 'READ'")
-    Long countUnreadMessages(@Param("roomId") Long roomId, @Param("userId") Long userId);
+            "AND (cm.createDate > :createDate OR (cm.createDate = :createDate AND cm.id > :id)) " +
+            "AND cm.sender.id != :userId")
+    Long countUnreadMessages(@Param("roomId") Long roomId,
+                             @Param("userId") Long userId,
+                             @Param("createDate") LocalDateTime createDate,
+                             @Param("id") Long id);
+
+    /**
+     * 채팅방에 속한 메시지의 생성일시 조회 (읽음 위치 검증용)
+     * @param roomId 채팅방 ID
+     * @param messageId 메시지 ID
+     * @return 생성일시 (다른 채팅방의 메시지이거나 없으면 empty)
+     */
+    @Query("SELECT cm.createDate FROM ChatMessage cm WHERE cm.id = :messageId AND cm.room.id = :roomId")
+    Optional<LocalDateTime> findCreateDateByRoomIdAndId(@Param("roomId") Long roomId,
+                                                        @Param("messageId") Long messageId);
+
+    /**
+     * 메시지가 속한 채팅방 ID 조회
+     * @param messageId 메시지 ID
+     * @return 채팅방 ID
+     */
+    @Query("SELECT cm.room.id FROM ChatMessage cm WHERE cm.id = :messageId")
+    Optional<Long> findRoomIdById(@Param("messageId") Long messageId);
+
+    /**
+     * 중복 저장 방지 키(채팅방, 발신자, 임시 메시지 ID)로 이미 저장된 메시지 ID 조회
+     * @param roomId 채팅방 ID
+     * @param senderId 발신자 ID
+     * @param tempId 클라이언트 임시 메시지 ID
+     * @return 저장된 메시지 ID
+     */
+    @Query("SELECT cm.id FROM ChatMessage cm " +
+            "WHERE cm.room.id = :roomId AND cm.sender.id = :senderId AND cm.tempId = :tempId")
+    Optional<Long> findIdByClientKey(@Param("roomId") Long roomId,
+                                     @Param("senderId") Long senderId,
+                                     @Param("tempId") String tempId);
 
     /**
      * Stream ID로 메시지 조회
@@ -2,10 +2,13 @@ package com.meloncity.citiz.repository;
 
 import com.meloncity.citiz.domain.chat.ChatRoomParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,6 +60,16 @@ public interface ChatRoomParticipantRepository extends JpaRepository<ChatRoomPar
            "ORDER BY p.joinedAt ASC")
     List<ChatRoomParticipant> findActiveParticipantsByRoomId(@Param("roomId") Long roomId);
 
+    /**
+     * 특정 채팅방의 활성 참여자 ID 목록 조회
+     * @param roomId 채팅방 ID
+     * @return 활성 참여자 ID 목록
+     */
+    @Query("SELECT p.participant.id FROM ChatRoomParticipant p " +
+           "WHERE p.room.id = :roomId " +
+           "AND p.isActive = true")
+    List<Long> findActiveParticipantIdsByRoomId(@Param("roomId") Long roomId);
+
     /**
      * 특정 사용자가 참여한 모든 활성 채팅방 목록 조회
      * @param participantId 참여자 ID
@@ -81,30 +94,91 @@ public interface ChatRoomParticipantRepository extends JpaRepository<ChatRoomPar
     List<ChatRoomParticipant> findAdminsByRoomId(@Param("roomId") Long roomId);
 
     /**
-     * 특정 채팅방에서 특정 메시지 ID 이후의 메시지를 읽지 않은 참여자 수 조회
+     * 특정 채팅방에서 특정 메시지를 아직 읽지 않은 참여자 수 조회 (읽음 위치가 메시지의 (생성일시, ID) 보다 앞선 참여자)
      * @param roomId 채팅방 ID
+     * @param createDate 메시지 생성일시
      * @param messageId 메시지 ID
      * @return 읽지 않은 참여자 수
      */
     @Query("SELECT COUNT(p) FROM ChatRoomParticipant p " +
            "WHERE p.room.id = :roomId " +
            "AND p.isActive = true " +
-           "AND (p.lastReadMessageId IS NULL OR p.lastReadMessageId < :messageId)")
-    Long countUnreadParticipants(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+           "AND (p.lastReadMessageCreateDate IS NULL " +
+           "  OR p.lastReadMessageCreateDate < :createDate " +
+           "  OR (p.lastReadMessageCreateDate = :createDate AND p.lastReadMessageId < :messageId))")
+    Long countUnreadParticipants(@Param("roomId") Long roomId,
+                                 @Param("createDate") LocalDateTime createDate,
+                                 @Param("messageId") Long messageId);
 
     /**
-     * 특정 사용자가 읽지 않은 메시지가 있는 채팅방 수 조회
+     * 특정 사용자가 참여 중인 채팅방별 읽지 않은 메시지 수 조회
+     * 읽지 않은 메시지 카운터(Redis) 초기화 및 보정 용도로만 사용
      * @param participantId 참여자 ID
-     * @return 읽지 않은 메시지가 있는 채팅방 수
+     * @return [채팅방 ID, 읽지 않은 메시지 수] 목록
      */
-    @Query("SELECT COUNT(DISTINCT p.room.id) FROM ChatRoomParticipant p " +
+    @Query("SELECT p.room.id, COUNT(m.id) FROM ChatRoomParticipant p " +
+           "LEFT JOIN ChatMessage m ON m.room.id = p.room.id " +
+           "  AND (p.lastReadMessageCreateDate IS NULL " +
+           "    OR m.createDate > p.lastReadMessageCreateDate " +
+           "    OR (m.createDate = p.lastReadMessageCreateDate AND m.id > p.lastReadMessageId)) " +
+           "  AND m.sender.id <> :participantId " +
            "WHERE p.participant.id = :participantId " +
            "AND p.isActive = true " +
-           "AND EXISTS (" +
-           "  SELECT 1 FROM ChatMessage m " +
-           "  WHERE m.room.id = p.room.id " +
-           "  AND m.sender.id != :participantId " +
-           "  AND (p.lastReadMessageId IS NULL OR m.id > p.lastReadMessageId)" +
-           ")")
-    Long countRoomsWithUnreadMessages(@Param("participantId") Long participantId);
-}
\ No newline at end of file
+           "GROUP BY p.room.id")
+    List<Object[]> countUnreadMessagesPerRoom(@Param("participantId") Long participantId);
+
+    /**
+     * 참여자의 읽음 위치를 전진시킵니다.
+     * 현재 위치보다 (생성일시, ID) 순서상 뒤인 경우에만 갱신하여 단조 증가를 보장합니다.
+     * 메시지가 해당 채팅방에 존재하는지는 호출 측에서 생성일시를 조회하며 확인합니다.
+     * @param roomId 채팅방 ID
+     * @param participantId 참여자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     * @param createDate 마지막으로 읽은 메시지의 생성일시
+     * @param readAt 읽은 시각
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant p " +
+           "SET p.lastReadMessageId = :messageId, p.lastReadMessageCreateDate = :createDate, p.lastReadAt = :readAt " +
+           "WHERE p.room.id = :roomId " +
+           "AND p.participant.id = :participantId " +
+           "AND p.isActive = true " +
+           "AND (p.lastReadMessageCreateDate IS NULL " +
+           "  OR p.lastReadMessageCreateDate < :createDate " +
+           "  OR (p.lastReadMessageCreateDate = :createDate AND p.lastReadMessageId < :messageId))")
+    int advanceLastReadPosition(@Param("roomId") Long roomId,
+                                @Param("participantId") Long participantId,
+                                @Param("messageId") Long messageId,
+                                @Param("createDate") LocalDateTime createDate,
+                                @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * 비활성 참여자를 다시 활성화 (비활성 상태일 때만 변경하여 동시 재입장 시 한 요청만 성공)
+     * @param roomId 채팅방 ID
+     * @param participantId 참여자 ID
+     * @param joinedAt 재입장 시각
+     * @return 변경된 행 수 (0 이면 이미 활성 상태)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant p SET p.isActive = true, p.leftAt = null, p.joinedAt = :joinedAt " +
+           "WHERE p.room.id = :roomId AND p.participant.id = :participantId AND p.isActive = false")
+    int reactivate(@Param("roomId") Long roomId,
+                   @Param("participantId") Long participantId,
+                   @Param("joinedAt") LocalDateTime joinedAt);
+
+    /**
+     * 활성 참여자를 비활성화 (활성 상태일 때만 변경하여 동시 퇴장 시 한 요청만 성공)
+     * @param roomId 채팅방 ID
+     * @param participantId 참여자 ID
+     * @param leftAt 퇴장 시각
+     * @return 변경된 행 수 (0 이면 이미 비활성 상태)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant p SET p.isActive = false, p.leftAt = :leftAt " +
+           "WHERE p.room.id = :roomId AND p.participant.id = :participantId AND p.isActive = true")
+    int deactivate(@Param("roomId") Long roomId,
+                   @Param("participantId") Long participantId,
+                   @Param("leftAt") LocalDateTime leftAt);
+}
@@ -1,7 +1,9 @@
 package com.meloncity.citiz.repository;
 
 import com.meloncity.citiz.domain.chat.ChatRoom;
+import com.meloncity.citiz.dto.ChatRoomSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -56,4 +58,60 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
             "AND cr.isPrivate = false " +
             "ORDER BY cr.lastMessageTime DESC")
     List<ChatRoom> findAvailableChatRooms();
+
+    /**
+     * 전체 채팅방 목록을 활성 참여자 수와 함께 조회 (단일 GROUP BY 쿼리)
+     * @return 채팅방 요약 목록
+     */
+    @Query("SELECT cr.id AS id, cr.name AS name, cr.description AS description, " +
+            "cr.lastMessage AS lastMessage, cr.lastMessageTime AS lastMessageTime, " +
+            "cr.maxParticipants AS maxParticipants, cr.isPrivate AS isPrivate, cr.createDate AS createDate, " +
+            "COUNT(p.id) AS participantCount " +
+            "FROM ChatRoom cr " +
+            "LEFT JOIN cr.participants p ON p.isActive = true " +
+            "GROUP BY cr.id, cr.name, cr.description, cr.lastMessage, cr.lastMessageTime, " +
+            "cr.maxParticipants, cr.isPrivate, cr.createDate " +
+            "ORDER BY cr.lastMessageTime DESC")
+    List<ChatRoomSummary> findAllSummaries();
+
+    /**
+     * 특정 사용자가 참여한 채팅방 목록을 활성 참여자 수와 함께 조회 (단일 GROUP BY 쿼리)
+     * @param participantId 참여자 ID
+     * @return 채팅방 요약 목록
+     */
+    @Query("SELECT cr.id AS id, cr.name AS name, cr.description AS description, " +
+            "cr.lastMessage AS lastMessage, cr.lastMessageTime AS lastMessageTime, " +
+            "cr.maxParticipants AS maxParticipants, cr.isPrivate AS isPrivate, cr.createDate AS createDate, " +
+            "COUNT(p.id) AS participantCount " +
+            "FROM ChatRoom cr " +
+            "LEFT JOIN cr.participants p ON p.isActive = true " +
+            "WHERE EXISTS (" +
+            "  SELECT 1 FROM ChatRoomParticipant me " +
+            "  WHERE me.room = cr AND me.participant.id = :participantId AND me.isActive = true" +
+            ") " +
+            "GROUP BY cr.id, cr.name, cr.description, cr.lastMessage, cr.lastMessageTime, " +
+            "cr.maxParticipants, cr.isPrivate, cr.createDate " +
+            "ORDER BY cr.lastMessageTime DESC")
+    List<ChatRoomSummary> findSummariesByParticipantId(@Param("participantId") Long participantId);
+
+    /**
+     * 활성 참여자 수를 원자적으로 1 증가 (최대 참여자 수를 초과하지 않는 경우에만)
+     * @param roomId 채팅방 ID
+     * @return 변경된 행 수 (0 이면 채팅방이 가득 찼거나 존재하지 않음)
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.activeParticipantCount = cr.activeParticipantCount + 1 " +
+            "WHERE cr.id = :roomId " +
+            "AND (cr.maxParticipants IS NULL OR cr.activeParticipantCount < cr.maxParticipants)")
+    int incrementActiveParticipantCount(@Param("roomId") Long roomId);
+
+    /**
+     * 활성 참여자 수를 원자적으로 1 감소
+     * @param roomId 채팅방 ID
+     * @return 변경된 행 수
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.activeParticipantCount = cr.activeParticipantCount - 1 " +
+            "WHERE cr.id = :roomId AND cr.activeParticipantCount > 0")
+    int decrementActiveParticipantCount(@Param("roomId") Long roomId);
 }
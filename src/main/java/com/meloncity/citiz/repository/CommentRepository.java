@@ -4,8 +4,29 @@ package com.meloncity.citiz.repository;
 import com.meloncity.citiz.domain.Comment;
 import com.meloncity.citiz.domain.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * 게시글의 댓글을 작성자와 함께 조회 (작성 순)
+     * @param postId 게시글 ID
+     * @return 작성자가 초기화된 댓글 목록
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.createdBy WHERE c.post.id = :postId ORDER BY c.id")
+    List<Comment> findAllWithAuthorByPostId(@Param("postId") Long postId);
+
+    /**
+     * 게시글별 댓글 수 일괄 조회
+     * @param postIds 게시글 ID 목록
+     * @return [게시글 ID, 댓글 수] 목록 (댓글이 없는 게시글은 포함되지 않음)
+     */
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
 }
@@ -0,0 +1,27 @@
+package com.meloncity.citiz.repository;
+
+import com.meloncity.citiz.domain.PostPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface PostPhotoRepository extends JpaRepository<PostPhoto, Long> {
+
+    /**
+     * 생성된 축소 이미지 경로를 저장합니다.
+     * @param id 사진 ID
+     * @param smallUrl 피드/목록용 이미지 경로
+     * @param mediumUrl 상세 화면용 이미지 경로
+     * @return 갱신된 행 수 (그 사이 게시글이 삭제되었으면 0)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostPhoto pp SET pp.smallUrl = :smallUrl, pp.mediumUrl = :mediumUrl WHERE pp.id = :id")
+    int updateDerivativeUrls(@Param("id") Long id,
+                             @Param("smallUrl") String smallUrl,
+                             @Param("mediumUrl") String mediumUrl);
+}
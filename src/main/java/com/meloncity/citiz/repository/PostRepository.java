@@ -2,14 +2,121 @@ package com.meloncity.citiz.repository;
 
 
 import com.meloncity.citiz.domain.Post;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    @EntityGraph(attributePaths = {"postTags", "postTags.tag"})
-    List<Post> findAll();
+
+    /**
+     * 피드 목록용 프로젝션 (엔티티를 만들지 않고 필요한 컬럼만 조회)
+     */
+    interface FeedRow {
+        Long getPostId();
+        String getTitle();
+        String getContentPreview();
+        LocalDateTime getCreateDate();
+        Long getProfileId();
+        String getProfileName();
+        String getProfileImg();
+    }
+
+    /**
+     * 최신 게시글 피드 (첫 페이지)
+     * @param limit 조회할 개수
+     * @return 피드 목록
+     */
+    @Query("SELECT p.id AS postId, p.title AS title, SUBSTRING(p.content, 1, 200) AS contentPreview, " +
+            "p.createDate AS createDate, pr.id AS profileId, pr.name AS profileName, pr.imageUrl AS profileImg " +
+            "FROM Post p JOIN p.createdBy pr " +
+            "ORDER BY p.createDate DESC, p.id DESC " +
+            "LIMIT :limit")
+    List<FeedRow> findFeed(@Param("limit") int limit);
+
+    /**
+     * 커서 (생성일시, ID) 이전의 게시글 피드 (keyset 페이지네이션)
+     * (create_date, id) 인덱스를 타므로 스크롤 깊이와 무관하게 일정한 비용
+     * @param createDate 커서 게시글의 생성일시
+     * @param id 커서 게시글의 ID
+     * @param limit 조회할 개수
+     * @return 피드 목록
+     */
+    @Query("SELECT p.id AS postId, p.title AS title, SUBSTRING(p.content, 1, 200) AS contentPreview, " +
+            "p.createDate AS createDate, pr.id AS profileId, pr.name AS profileName, pr.imageUrl AS profileImg " +
+            "FROM Post p JOIN p.createdBy pr " +
+            "WHERE (p.createDate < :createDate OR (p.createDate = :createDate AND p.id < :id)) " +
+            "ORDER BY p.createDate DESC, p.id DESC " +
+            "LIMIT :limit")
+    List<FeedRow> findFeedBefore(@Param("createDate") LocalDateTime createDate,
+                                 @Param("id") Long id,
+                                 @Param("limit") int limit);
+
+    /**
+     * 특정 태그가 달린 최신 게시글 피드 (첫 페이지)
+     * @param tagId 태그 ID
+     * @param limit 조회할 개수
+     * @return 피드 목록
+     */
+    @Query("SELECT p.id AS postId, p.title AS title, SUBSTRING(p.content, 1, 200) AS contentPreview, " +
+            "p.createDate AS createDate, pr.id AS profileId, pr.name AS profileName, pr.imageUrl AS profileImg " +
+            "FROM Post p JOIN p.createdBy pr " +
+            "WHERE EXISTS (SELECT 1 FROM PostTag pt WHERE pt.post.id = p.id AND pt.tag.id = :tagId) " +
+            "ORDER BY p.createDate DESC, p.id DESC " +
+            "LIMIT :limit")
+    List<FeedRow> findFeedByTag(@Param("tagId") Long tagId,
+                                @Param("limit") int limit);
+
+    /**
+     * 커서 이전의 특정 태그 게시글 피드
+     * @param tagId 태그 ID
+     * @param createDate 커서 게시글의 생성일시
+     * @param id 커서 게시글의 ID
+     * @param limit 조회할 개수
+     * @return 피드 목록
+     */
+    @Query("SELECT p.id AS postId, p.title AS title, SUBSTRING(p.content, 1, 200) AS contentPreview, " +
+            "p.createDate AS createDate, pr.id AS profileId, pr.name AS profileName, pr.imageUrl AS profileImg " +
+            "FROM Post p JOIN p.createdBy pr " +
+            "WHERE EXISTS (SELECT 1 FROM PostTag pt WHERE pt.post.id = p.id AND pt.tag.id = :tagId) " +
+            "AND (p.createDate < :createDate OR (p.createDate = :createDate AND p.id < :id)) " +
+            "ORDER BY p.createDate DESC, p.id DESC " +
+            "LIMIT :limit")
+    List<FeedRow> findFeedByTagBefore(@Param("tagId") Long tagId,
+                                      @Param("createDate") LocalDateTime createDate,
+                                      @Param("id") Long id,
+                                      @Param("limit") int limit);
+
+    /**
+     * 게시글별 대표 사진(가장 먼저 등록된 사진) 일괄 조회
+     * 축소본(small)이 생성되어 있으면 축소본 경로를, 아니면 원본 경로를 반환
+     * @param postIds 게시글 ID 목록
+     * @return [게시글 ID, 사진 경로] 목록
+     */
+    @Query("SELECT pp.post.id, COALESCE(pp.smallUrl, pp.imgUrl) FROM PostPhoto pp " +
+            "WHERE pp.id IN (SELECT MIN(pp2.id) FROM PostPhoto pp2 WHERE pp2.post.id IN :postIds GROUP BY pp2.post.id)")
+    List<Object[]> findThumbnailsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * 게시글 상세 조회용 - 작성자를 함께 조회
+     * 사진/태그/댓글은 컬렉션이 여러 개라 한 번에 fetch join 할 수 없으므로 별도 조회로 가져옴
+     * @param id 게시글 ID
+     * @return 작성자가 초기화된 게시글
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.createdBy WHERE p.id = :id")
+    Optional<Post> findDetailById(@Param("id") Long id);
+
+    /**
+     * 게시글 사진 경로 조회 (등록 순)
+     * @param postId 게시글 ID
+     * @return [상세용 경로(축소본이 없으면 원본), 원본 경로] 목록
+     */
+    @Query("SELECT COALESCE(pp.mediumUrl, pp.imgUrl), pp.imgUrl FROM PostPhoto pp WHERE pp.post.id = :postId ORDER BY pp.id")
+    List<Object[]> findImageUrlsByPostId(@Param("postId") Long postId);
 }
@@ -4,9 +4,30 @@ import com.meloncity.citiz.domain.Post;
 import com.meloncity.citiz.domain.PostTag;
 import com.meloncity.citiz.domain.PostTagId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PostTagRepository extends JpaRepository<PostTag, PostTagId> {
     void deleteAllByPost(Post post);
+
+    /**
+     * 게시글에 달린 태그 이름 조회
+     * @param postId 게시글 ID
+     * @return 태그 이름 목록
+     */
+    @Query("SELECT t.tag FROM PostTag pt JOIN pt.tag t WHERE pt.post.id = :postId")
+    List<String> findTagNamesByPostId(@Param("postId") Long postId);
+
+    /**
+     * 여러 게시글의 태그 이름 일괄 조회
+     * @param postIds 게시글 ID 목록
+     * @return [게시글 ID, 태그 이름] 목록
+     */
+    @Query("SELECT pt.post.id, t.tag FROM PostTag pt JOIN pt.tag t WHERE pt.post.id IN :postIds")
+    List<Object[]> findTagNamesByPostIds(@Param("postIds") Collection<Long> postIds);
 }
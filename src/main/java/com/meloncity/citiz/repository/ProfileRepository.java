@@ -1,20 +1,83 @@
 package com.meloncity.citiz.repository;
 
 import com.meloncity.citiz.domain.Profile;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     boolean existsByEmail(String email);
 
-    Page<Profile> findByNameContainingIgnoreCase(String name, Pageable pageable);
-    Page<Profile> findByEmailContainingIgnoreCase(String email, Pageable pageable);
-    Page<Profile> findByNameContainingIgnoreCaseAndEmailContainingIgnoreCase(String name, String email, Pageable pageable);
     Optional<Profile> findByEmail(String email);
     boolean existsById(Long id);
+
+    /**
+     * 이름 부분 일치 검색 (ix_profile_name_trgm 사용)
+     * 정확히 일치 > 접두 일치 > 유사도 순으로 정렬
+     * @param query 소문자로 변환한 검색어
+     * @param pattern "%검색어%" (LIKE 특수문자 이스케이프)
+     * @param prefix "검색어%" (LIKE 특수문자 이스케이프)
+     * @param limit 조회할 개수
+     * @param offset 건너뛸 개수
+     * @return 프로필 목록
+     */
+    @Query(value = "SELECT p.* FROM profile p " +
+            "WHERE lower(p.name) LIKE :pattern " +
+            "ORDER BY CASE WHEN lower(p.name) = :query THEN 0 WHEN lower(p.name) LIKE :prefix THEN 1 ELSE 2 END, " +
+            "similarity(lower(p.name), :query) DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Profile> searchByName(@Param("query") String query,
+                               @Param("pattern") String pattern,
+                               @Param("prefix") String prefix,
+                               @Param("limit") int limit,
+                               @Param("offset") long offset);
+
+    /**
+     * 이메일 부분 일치 검색 (ix_profile_email_trgm 사용)
+     * 정확히 일치 > 접두 일치 > 유사도 순으로 정렬
+     */
+    @Query(value = "SELECT p.* FROM profile p " +
+            "WHERE lower(p.email) LIKE :pattern " +
+            "ORDER BY CASE WHEN lower(p.email) = :query THEN 0 WHEN lower(p.email) LIKE :prefix THEN 1 ELSE 2 END, " +
+            "similarity(lower(p.email), :query) DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Profile> searchByEmail(@Param("query") String query,
+                                @Param("pattern") String pattern,
+                                @Param("prefix") String prefix,
+                                @Param("limit") int limit,
+                                @Param("offset") long offset);
+
+    /**
+     * 이름과 이메일 동시 부분 일치 검색 (이름 순위 우선, 이메일 순위 다음)
+     */
+    @Query(value = "SELECT p.* FROM profile p " +
+            "WHERE lower(p.name) LIKE :namePattern AND lower(p.email) LIKE :emailPattern " +
+            "ORDER BY CASE WHEN lower(p.name) = :name THEN 0 WHEN lower(p.name) LIKE :namePrefix THEN 1 ELSE 2 END, " +
+            "CASE WHEN lower(p.email) = :email THEN 0 WHEN lower(p.email) LIKE :emailPrefix THEN 1 ELSE 2 END, " +
+            "similarity(lower(p.name), :name) + similarity(lower(p.email), :email) DESC, p.id DESC " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Profile> searchByNameAndEmail(@Param("name") String name,
+                                       @Param("namePattern") String namePattern,
+                                       @Param("namePrefix") String namePrefix,
+                                       @Param("email") String email,
+                                       @Param("emailPattern") String emailPattern,
+                                       @Param("emailPrefix") String emailPrefix,
+                                       @Param("limit") int limit,
+                                       @Param("offset") long offset);
+
+    @Query(value = "SELECT count(*) FROM profile p WHERE lower(p.name) LIKE :pattern", nativeQuery = true)
+    long countByNamePattern(@Param("pattern") String pattern);
+
+    @Query(value = "SELECT count(*) FROM profile p WHERE lower(p.email) LIKE :pattern", nativeQuery = true)
+    long countByEmailPattern(@Param("pattern") String pattern);
+
+    @Query(value = "SELECT count(*) FROM profile p " +
+            "WHERE lower(p.name) LIKE :namePattern AND lower(p.email) LIKE :emailPattern", nativeQuery = true)
+    long countByNameAndEmailPattern(@Param("namePattern") String namePattern,
+                                    @Param("emailPattern") String emailPattern);
 }
@@ -0,0 +1,27 @@
+package com.meloncity.citiz.repository;
+
+import com.meloncity.citiz.domain.StoredBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    /**
+     * 트랜잭션이 끝날 때까지 유지되는 PostgreSQL advisory lock 획득
+     * 같은 내용의 파일에 대한 참조 수 변경과 실제 파일 생성/삭제를 여러 서버 간에도 직렬화
+     * @param key 잠금 키 (해시 앞 8바이트)
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer lockBlob(@Param("key") long key);
+
+    /**
+     * 기준 시각 이전에 참조 수가 0 이 된 파일 이름을 오래된 순으로 조회
+     */
+    @Query("SELECT b.fileName FROM StoredBlob b WHERE b.refCount = 0 AND b.updateDate < :cutoff ORDER BY b.updateDate")
+    List<String> findUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -2,9 +2,34 @@ package com.meloncity.citiz.repository;
 
 import com.meloncity.citiz.domain.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByTag(String tag);
+
+    /**
+     * 태그 이름 목록으로 한 번에 조회
+     * @param tags 태그 이름 목록
+     * @return 존재하는 태그 목록
+     */
+    List<Tag> findAllByTagIn(Collection<String> tags);
+
+    /**
+     * 없는 태그만 한 문장으로 추가 (uk_tag_tag 충돌 시 무시)
+     * 동시에 같은 태그를 만드는 요청이 있어도 한쪽은 충돌을 무시하므로 예외가 발생하지 않음
+     * ID 는 pooled 시퀀스의 nextval 값을 그대로 사용하므로 Hibernate 가 할당하는 ID 블록과 겹치지 않음
+     * @param tags 추가할 태그 이름 목록
+     * @return 실제로 추가된 태그 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tag (id, tag, create_date, update_date) " +
+            "SELECT nextval('tag_seq'), t.name, now(), now() FROM unnest(CAST(:tags AS varchar[])) AS t(name) " +
+            "ON CONFLICT (tag) DO NOTHING", nativeQuery = true)
+    int insertIgnoringExisting(@Param("tags") String[] tags);
 }
@@ -11,7 +11,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -20,7 +19,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
 
 // JwtAuthFilter.java
 @Component
@@ -38,9 +36,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = resolveFromHeader(request); // Authorization: Bearer ...
         if (token != null) {
-            TokenValidationResult valid = jwtTokenProvider.isValidJwt(token);
+            JwtValidation validation = jwtTokenProvider.validate(token);
+            TokenValidationResult valid = validation.result();
 
-            if(valid != TokenValidationResult.SUCCESS){
+            if(!validation.isSuccess()){
                 log.info("Access Denied : Token이 유효하지 않습니다. serverName : {}", request.getServerName());
 
                 String origin = request.getHeader("Origin");
@@ -69,19 +68,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 return ;
             }
 
-            var claims = jwtTokenProvider.parse(token).getBody();
-            String subject = claims.getSubject();
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) claims.getOrDefault("roles", List.of("ROLE_USER"));
-
-            var authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .toList();
-
-            CustomUserDetails customUserDetails = jwtTokenProvider.getUserDetails(subject);
+            // 토큰 클레임만으로 사용자 정보를 구성하여 요청마다 프로필을 조회하지 않음
+            CustomUserDetails customUserDetails = jwtTokenProvider.getUserDetails(validation.claims());
 
             var authentication =
-                    new UsernamePasswordAuthenticationToken(customUserDetails,null, authorities);
+                    new UsernamePasswordAuthenticationToken(customUserDetails,null, customUserDetails.getAuthorities());
 
             SecurityContext context = SecurityContextHolder.createEmptyContext();
             context.setAuthentication(authentication);
@@ -57,9 +57,10 @@ public class JwtRefreshAuthFilter extends OncePerRequestFilter {
 
         try{
             String refreshToken = jwtTokenProvider.extractRefreshToken(request).orElseThrow(() -> new ResourceNotFoundException("RefreshToken", "Cookie", "Null"));
-            TokenValidationResult valid = jwtTokenProvider.isValidJwt(refreshToken);
+            JwtValidation validation = jwtTokenProvider.validate(refreshToken);
+            TokenValidationResult valid = validation.result();
 
-            if(valid != TokenValidationResult.SUCCESS){
+            if(!validation.isSuccess()){
                 createReturnMsg(
                         request,
                         response,
@@ -69,7 +70,7 @@ public class JwtRefreshAuthFilter extends OncePerRequestFilter {
                 log.info("Access Denied : RefreshToken이 유효하지 않습니다. serverName : {}", request.getServerName());
 
             }else{
-                checkRefreshTokenAndReIssueAccessToken(request, response, refreshToken);
+                checkRefreshTokenAndReIssueAccessToken(request, response, refreshToken, validation.claims().getSubject());
             }
 
             return;
@@ -86,11 +87,10 @@ public class JwtRefreshAuthFilter extends OncePerRequestFilter {
 
     }
 
-    private void checkRefreshTokenAndReIssueAccessToken(HttpServletRequest request, HttpServletResponse response, String refreshToken) throws IOException {
+    private void checkRefreshTokenAndReIssueAccessToken(HttpServletRequest request, HttpServletResponse response, String refreshToken, String profileId) throws IOException {
         //레디스에 저장된 토큰인지 아닌지 검증
         // 해당 토큰은 유출되었다고 판단 -> 추후 해당 세션을 막는 로직 필요
 
-        String profileId = jwtTokenProvider.getSubject(refreshToken);
         Optional<Profile> profile = profileRepository.findByEmail(profileId);
 
         if(profile.isEmpty()){
@@ -113,7 +113,7 @@ public class JwtRefreshAuthFilter extends OncePerRequestFilter {
         }else{
             List<String> roles = Collections.singletonList(profile.get().getRole() == null ? "ROLE_USER": profile.get().getRole());
 
-            String newAccessToken = jwtTokenProvider.createToken(profileId, roles);
+            String newAccessToken = jwtTokenProvider.createToken(profileId, profile.get().getId(), profile.get().getName(), roles);
             jwtTokenProvider.reIssueRefreshToken(profileId, roles, response);
 
             ResponseDto data = new ResponseDto<>(1, newAccessToken,"Token reissue success", CustomDateUtil.toStringFormat(LocalDateTime.now()));
@@ -8,16 +8,20 @@ import com.meloncity.citiz.handler.exception.ResourceNotFoundException;
 import com.meloncity.citiz.repository.ProfileRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -35,15 +39,68 @@ public class JwtTokenProvider {
     @Value("${jwt.issuer}") private String issuer;
     @Value("${jwt.refresh.expiration}") private long REFRESH_EXPIRATION;
     @Value("${jwt.refresh.header}") private String REFRESH_HEADER;
+    @Value("${jwt.verified-cache.enabled:false}") private boolean verifiedCacheEnabled;
+    @Value("${jwt.verified-cache.ttl-seconds:30}") private long verifiedCacheTtlSeconds;
+    @Value("${jwt.verified-cache.max-size:10000}") private int verifiedCacheMaxSize;
+    @Value("${jwt.user-details-cache.max-size:1000}") private int userDetailsCacheMaxSize;
+    @Value("${jwt.user-details-cache.ttl-seconds:300}") private long userDetailsCacheTtlSeconds;
+
+    private static final String CLAIM_PROFILE_ID = "pid";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLES = "roles";
 
     private final RedisJwtDao redisJwtDao;
     private final ProfileRepository profileRepository;
 
+    // 서명 키와 파서는 불변이므로 기동 시 한 번만 생성하여 재사용
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // 검증 완료된 토큰의 Claims 단기 캐시 (LRU, key: 토큰 SHA-256 해시)
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    // pid/name 클레임이 없는 이전 토큰용 사용자 정보 캐시 (LRU, key: email)
+    private Map<String, CachedUserDetails> legacyUserDetails;
+
+    private record CachedUserDetails(CustomUserDetails userDetails, long loadedAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setAllowedClockSkewSeconds(60) // 서버간 시간오차 1분 허용
+                .requireIssuer(issuer) // 발급자 고정
+                .build();
+        this.verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheMaxSize;
+            }
+        });
+        this.legacyUserDetails = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUserDetails> eldest) {
+                return size() > userDetailsCacheMaxSize;
+            }
+        });
+    }
+
     private Key key() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
-    public String createToken(String subject, List<String> roles) {
+    /**
+     * Access Token 발급
+     * 인증 필터가 DB 조회 없이 사용자 정보를 구성할 수 있도록 프로필 ID, 이름, 권한을 클레임으로 포함
+     */
+    public String createToken(String subject, Long profileId, String name, List<String> roles) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .setSubject(subject)          // email
@@ -51,7 +108,9 @@ public class JwtTokenProvider {
                 .setAudience(AUDIENCE)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(expiration)))
-                .claim("roles", roles)
+                .claim(CLAIM_PROFILE_ID, profileId)
+                .claim(CLAIM_NAME, name)
+                .claim(CLAIM_ROLES, roles)
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -59,18 +118,17 @@ public class JwtTokenProvider {
     public long getExpirationSeconds() { return expiration;}
 
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .setAllowedClockSkewSeconds(60) // 서버간 시간오차 1분 허용
-                .requireIssuer(issuer) // 발급자 고정
-                .build()
-                .parseClaimsJws(token);
+        return jwtParser.parseClaimsJws(token);
     }
 
     public String getSubject(String token) { return parse(token).getBody().getSubject(); }
 
     public List<String> getRoles(String token) {
-        Object roles = parse(token).getBody().get("roles");
+        return getRoles(parse(token).getBody());
+    }
+
+    public List<String> getRoles(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
         if (roles instanceof List<?> list) {
             return list.stream().map(Object::toString).toList();
         }
@@ -151,28 +209,84 @@ public class JwtTokenProvider {
     }
 
     public TokenValidationResult isValidJwt(String refreshToken) {
+        return validate(refreshToken).result();
+    }
+
+    /**
+     * 토큰을 한 번만 파싱하여 검증 결과와 Claims 를 함께 반환
+     * jwt.verified-cache.enabled 가 true 이면 검증에 성공한 토큰을 짧은 시간 동안 캐싱하여 서명 검증을 생략
+     */
+    public JwtValidation validate(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtValidation.failure(TokenValidationResult.EMPTY_OR_NULL);
+        }
+
+        if (!verifiedCacheEnabled) {
+            return verify(token);
+        }
+
+        String cacheKey = hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return JwtValidation.success(cached.claims());
+            }
+            verifiedTokens.remove(cacheKey, cached);
+        }
+
+        JwtValidation validation = verify(token);
+        if (validation.isSuccess()) {
+            cacheVerifiedToken(cacheKey, validation.claims(), now);
+        }
+        return validation;
+    }
+
+    private JwtValidation verify(String token) {
         try {
             // JWT 파싱 및 서명/먄료여부 확인
             // 추후 레디스에 있는지도 확인 -> 추가 예정
-            Jws<Claims> claimsJws = parse(refreshToken);
-            Claims payload = claimsJws.getBody();
+            Claims payload = parse(token).getBody();
 
-            if (!payload.getAudience().contains(AUDIENCE)) {
-                return TokenValidationResult.AUDIENCE_INVALID;
+            if (payload.getAudience() == null || !payload.getAudience().contains(AUDIENCE)) {
+                return JwtValidation.failure(TokenValidationResult.AUDIENCE_INVALID);
             }
 
-            return TokenValidationResult.SUCCESS;
+            return JwtValidation.success(payload);
 
         } catch (ExpiredJwtException e) {
-            return TokenValidationResult.EXPIRED;
+            return JwtValidation.failure(TokenValidationResult.EXPIRED);
         } catch (UnsupportedJwtException e) {
-            return TokenValidationResult.UNSUPPORTED;
+            return JwtValidation.failure(TokenValidationResult.UNSUPPORTED);
         } catch (MalformedJwtException e) {
-            return TokenValidationResult.MALFORMED;
+            return JwtValidation.failure(TokenValidationResult.MALFORMED);
         } catch (JwtException e) {
-            return TokenValidationResult.INVALID_SIGNATURE;
+            return JwtValidation.failure(TokenValidationResult.INVALID_SIGNATURE);
         } catch (IllegalArgumentException e) {
-            return TokenValidationResult.EMPTY_OR_NULL;
+            return JwtValidation.failure(TokenValidationResult.EMPTY_OR_NULL);
+        }
+    }
+
+    private void cacheVerifiedToken(String cacheKey, Claims claims, long now) {
+        // 캐시 만료 시각은 토큰 만료 시각을 넘지 않도록 제한
+        long expiresAt = now + verifiedCacheTtlSeconds * 1000;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        // 가득 차면 가장 오래 조회되지 않은 토큰을 밀어냄 (만료된 항목은 조회 시 제거)
+        verifiedTokens.put(cacheKey, new VerifiedToken(claims, expiresAt));
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
         }
     }
 
@@ -206,6 +320,47 @@ public class JwtTokenProvider {
         return cookie;
     }
 
+    /**
+     * 검증된 토큰의 클레임으로 사용자 정보 구성
+     * pid 클레임이 없는 이전 토큰만 프로필을 조회하며, 조회 결과는 제한된 크기의 캐시에 보관
+     * 권한은 두 경우 모두 토큰의 roles 클레임을 사용 (프로필 조회는 ID/이름을 채우는 용도)
+     */
+    public CustomUserDetails getUserDetails(Claims claims) {
+        List<String> roles = getRoles(claims);
+        if (roles.isEmpty()) {
+            roles = List.of("ROLE_USER");
+        }
+
+        if (claims.get(CLAIM_PROFILE_ID) instanceof Number profileId) {
+            return CustomUserDetails.builder()
+                    .id(profileId.longValue())
+                    .email(claims.getSubject())
+                    .username(claims.get(CLAIM_NAME, String.class))
+                    .authorities(roles.stream().map(SimpleGrantedAuthority::new).toList())
+                    .build();
+        }
+
+        CustomUserDetails profileDetails = getCachedUserDetails(claims.getSubject());
+        return CustomUserDetails.builder()
+                .id(profileDetails.getId())
+                .email(profileDetails.getEmail())
+                .username(profileDetails.getUsername())
+                .authorities(roles.stream().map(SimpleGrantedAuthority::new).toList())
+                .build();
+    }
+
+    private CustomUserDetails getCachedUserDetails(String email) {
+        long now = System.currentTimeMillis();
+        CachedUserDetails cached = legacyUserDetails.get(email);
+        if (cached != null && now - cached.loadedAtMillis() < userDetailsCacheTtlSeconds * 1000) {
+            return cached.userDetails();
+        }
+
+        CustomUserDetails userDetails = getUserDetails(email);
+        legacyUserDetails.put(email, new CachedUserDetails(userDetails, now));
+        return userDetails;
+    }
+
     public CustomUserDetails getUserDetails(String email){
         Profile profile = profileRepository.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Profile", "E-mail", email));
 
@@ -213,7 +368,7 @@ public class JwtTokenProvider {
                 .id(profile.getId())
                 .email(profile.getEmail())
                 .username(profile.getName())
-                //.authorities(Collections.singletonList(new SimpleGrantedAuthority(profile.getRole())))
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority(profile.getRole() == null ? "ROLE_USER" : profile.getRole())))
                 .build();
     }
 
@@ -0,0 +1,22 @@
+package com.meloncity.citiz.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JWT 검증 결과
+ * 한 번의 파싱으로 검증 결과와 Claims 를 함께 전달하여 호출부에서 재파싱하지 않도록 함
+ */
+public record JwtValidation(TokenValidationResult result, Claims claims) {
+
+    public static JwtValidation success(Claims claims) {
+        return new JwtValidation(TokenValidationResult.SUCCESS, claims);
+    }
+
+    public static JwtValidation failure(TokenValidationResult result) {
+        return new JwtValidation(result, null);
+    }
+
+    public boolean isSuccess() {
+        return result == TokenValidationResult.SUCCESS;
+    }
+}
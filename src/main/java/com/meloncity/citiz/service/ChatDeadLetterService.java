@@ -0,0 +1,227 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.dto.DeadLetterRecordDto;
+import com.meloncity.citiz.handler.exception.CustomApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 데드레터 토픽(DLT) 관리 서비스
+ * 재시도를 모두 소진했거나 재시도할 수 없는 메시지를 DLT 에 적재하고, 관리자가 조회/재처리할 수 있도록 합니다.
+ * 재시도 토픽 컨테이너의 DeadLetterPublishingRecoverer 도 같은 토픽과 헤더(kafka_dlt-*, chat_retry-attempts)로 적재합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatDeadLetterService {
+
+    public static final String ATTEMPTS_HEADER = "chat_retry-attempts";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long READ_DEADLINE_MS = 5000;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, ChatMessageDto> kafkaTemplate;
+    private final ConsumerFactory<String, ChatMessageDto> consumerFactory;
+
+    @Value("${kafka.topic.chat:chat-messages}")
+    private String chatTopic;
+
+    @Value("${kafka.topic.chat-dlt:chat-messages.DLT}")
+    private String deadLetterTopic;
+
+    /**
+     * 처리에 실패한 메시지를 오류 정보와 함께 DLT 에 적재합니다.
+     * 적재가 확인될 때까지 기다리며, 실패하면 예외를 던져 원본 레코드가 커밋되지 않도록 합니다.
+     *
+     * @param messageDto 실패한 메시지
+     * @param cause      마지막 실패 원인
+     * @param attempts   시도한 횟수
+     */
+    public void publish(ChatMessageDto messageDto, Throwable cause, int attempts) {
+        ProducerRecord<String, ChatMessageDto> record =
+                new ProducerRecord<>(deadLetterTopic, String.valueOf(messageDto.getRoomId()), messageDto);
+        Headers headers = record.headers();
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, utf8(cause.getClass().getName()));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, utf8(String.valueOf(cause.getMessage())));
+        headers.add(ATTEMPTS_HEADER, utf8(String.valueOf(attempts)));
+
+        SendResult<String, ChatMessageDto> result;
+        try {
+            result = kafkaTemplate.send(record).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DLT 적재 중 인터럽트 발생", e);
+        } catch (Exception e) {
+            log.error("DLT 적재 실패 - Topic: {}, Message: {}", deadLetterTopic, messageDto, e);
+            throw new IllegalStateException("DLT 적재 실패: " + deadLetterTopic, e);
+        }
+
+        log.warn("DLT 적재 완료 - Room: {}, Temp ID: {}, Attempts: {}, Partition: {}, Offset: {}",
+                messageDto.getRoomId(), messageDto.getTempId(), attempts,
+                result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+    }
+
+    /**
+     * 파티션별 최근 DLT 레코드를 조회합니다. 오프셋은 커밋하지 않습니다.
+     *
+     * @param limit 파티션별 최대 조회 건수
+     * @return 최근 적재 순으로 정렬된 DLT 레코드 목록
+     */
+    public List<DeadLetterRecordDto> findRecent(int limit) {
+        try (Consumer<String, ChatMessageDto> consumer = createInspector(limit)) {
+            List<TopicPartition> partitions = partitionsOf(consumer);
+            if (partitions.isEmpty()) {
+                return List.of();
+            }
+            consumer.assign(partitions);
+
+            Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            for (TopicPartition partition : partitions) {
+                consumer.seek(partition, Math.max(beginning.get(partition), end.get(partition) - limit));
+            }
+
+            List<DeadLetterRecordDto> records = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + READ_DEADLINE_MS;
+            while (System.currentTimeMillis() < deadline && !reachedEnd(consumer, partitions, end)) {
+                for (ConsumerRecord<String, ChatMessageDto> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.offset() < end.get(new TopicPartition(record.topic(), record.partition()))) {
+                        records.add(toDto(record));
+                    }
+                }
+            }
+
+            records.sort(Comparator.comparingLong(DeadLetterRecordDto::timestamp).reversed());
+            return records;
+        }
+    }
+
+    /**
+     * DLT 레코드 하나를 원본 채팅 토픽으로 다시 발행합니다.
+     *
+     * @param partition DLT 파티션
+     * @param offset    DLT 오프셋
+     * @return 재발행한 메시지
+     */
+    public ChatMessageDto replay(int partition, long offset) {
+        ConsumerRecord<String, ChatMessageDto> record = read(partition, offset);
+        if (record == null) {
+            throw new CustomApiException(HttpStatus.NOT_FOUND,
+                    "DLT 레코드를 찾을 수 없습니다: " + partition + "-" + offset);
+        }
+        if (record.value() == null) {
+            // 역직렬화 실패로 원본 바이트가 적재된 레코드는 다시 발행해도 같은 이유로 실패함
+            throw new CustomApiException(HttpStatus.CONFLICT,
+                    "디코딩할 수 없는 DLT 레코드는 재처리할 수 없습니다: " + partition + "-" + offset);
+        }
+
+        ChatMessageDto messageDto = record.value();
+        try {
+            kafkaTemplate.send(chatTopic, record.key(), messageDto).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomApiException(HttpStatus.INTERNAL_SERVER_ERROR, "DLT 재처리 중 인터럽트 발생");
+        } catch (Exception e) {
+            log.error("DLT 재처리 발행 실패 - Partition: {}, Offset: {}", partition, offset, e);
+            throw new CustomApiException(HttpStatus.INTERNAL_SERVER_ERROR, "DLT 재처리 발행 실패");
+        }
+
+        log.info("DLT 재처리 완료 - Partition: {}, Offset: {}, Room: {}, Temp ID: {}",
+                partition, offset, messageDto.getRoomId(), messageDto.getTempId());
+        return messageDto;
+    }
+
+    private ConsumerRecord<String, ChatMessageDto> read(int partition, long offset) {
+        try (Consumer<String, ChatMessageDto> consumer = createInspector(1)) {
+            TopicPartition topicPartition = new TopicPartition(deadLetterTopic, partition);
+            consumer.assign(List.of(topicPartition));
+            consumer.seek(topicPartition, offset);
+
+            long deadline = System.currentTimeMillis() + READ_DEADLINE_MS;
+            while (System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, ChatMessageDto> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.offset() == offset) {
+                        return record;
+                    }
+                    if (record.offset() > offset) {
+                        return null; // 보존 기간 만료 등으로 이미 삭제된 오프셋
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 컨슈머 그룹에 참여하지 않고 오프셋도 커밋하지 않는 조회 전용 컨슈머를 생성합니다.
+     */
+    private Consumer<String, ChatMessageDto> createInspector(int maxPollRecords) {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(maxPollRecords, 1));
+        return consumerFactory.createConsumer(null, "dlt-inspector", null, properties);
+    }
+
+    private List<TopicPartition> partitionsOf(Consumer<String, ChatMessageDto> consumer) {
+        List<PartitionInfo> infos = consumer.partitionsFor(deadLetterTopic);
+        if (infos == null) {
+            return List.of();
+        }
+        return infos.stream()
+                .map(info -> new TopicPartition(deadLetterTopic, info.partition()))
+                .toList();
+    }
+
+    private boolean reachedEnd(Consumer<String, ChatMessageDto> consumer, List<TopicPartition> partitions,
+                               Map<TopicPartition, Long> end) {
+        for (TopicPartition partition : partitions) {
+            if (consumer.position(partition) < end.get(partition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private DeadLetterRecordDto toDto(ConsumerRecord<String, ChatMessageDto> record) {
+        String attempts = headerValue(record.headers(), ATTEMPTS_HEADER);
+        return new DeadLetterRecordDto(
+                record.partition(),
+                record.offset(),
+                record.timestamp(),
+                headerValue(record.headers(), KafkaHeaders.DLT_EXCEPTION_FQCN),
+                headerValue(record.headers(), KafkaHeaders.DLT_EXCEPTION_MESSAGE),
+                attempts != null ? Integer.valueOf(attempts) : null,
+                record.value());
+    }
+
+    private static String headerValue(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최근 저장된 채팅 메시지의 중복 저장 방지 키 윈도우
+ *
+ * (채팅방, 발신자, 임시 메시지 ID) -> 메시지 ID 를 LRU 로 보관하여 재전달된 메시지 대부분을 DB 조회 없이 걸러냅니다.
+ * 이 인스턴스가 저장한 메시지만 알고 있으므로, 윈도우에 없는 중복은 DB 유니크 인덱스가 최종적으로 막습니다.
+ */
+@Component
+public class ChatMessageDedupWindow {
+
+    @Value("${app.chat.dedup.window-size:50000}")
+    private int windowSize;
+
+    private final Map<String, Long> recent = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > windowSize;
+        }
+    });
+
+    /**
+     * 중복 저장 방지 키를 생성합니다. 임시 메시지 ID가 없으면 null 을 반환합니다.
+     */
+    public static String keyOf(ChatMessageDto messageDto) {
+        if (messageDto.getTempId() == null) {
+            return null;
+        }
+        return messageDto.getRoomId() + ":" + messageDto.getSenderId() + ":" + messageDto.getTempId();
+    }
+
+    /**
+     * 최근 저장된 메시지라면 메시지 ID 를, 아니면 null 을 반환합니다.
+     */
+    public Long find(ChatMessageDto messageDto) {
+        String key = keyOf(messageDto);
+        return key != null ? recent.get(key) : null;
+    }
+
+    /**
+     * 저장이 확정된 메시지를 윈도우에 기록합니다. (트랜잭션 커밋 이후 호출)
+     */
+    public void remember(ChatMessageDto messageDto) {
+        String key = keyOf(messageDto);
+        if (key != null && messageDto.getMessageId() != null) {
+            recent.put(key, messageDto.getMessageId());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.handler.exception.CustomApiException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.backoff.BackOff;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 저장 실패 재시도 서비스
+ *
+ * 실패한 메시지는 재시도 토픽(kafka.topic.chat-retry)으로 옮기고, 원본 파티션은 바로 다음 메시지를 처리합니다.
+ * 재시도 토픽은 별도 컨테이너(retryKafkaListenerContainerFactory)가 지수 백오프로 재처리하며,
+ * 성공하거나 DLT 로 보내기 전까지 오프셋을 커밋하지 않으므로 재시작/배포 중에도 재시도 대기 메시지가 유실되지 않습니다.
+ * 재시도해도 성공할 수 없는 오류(채팅방 없음 등)는 바로 DLT 로 보냅니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageRetryService {
+
+    // 재시도 레코드에 원본 레코드의 추적용 식별자(topic-partition@offset)를 전달하는 헤더
+    public static final String ORIGIN_STREAM_ID_HEADER = "chat_origin-stream-id";
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, ChatMessageDto> kafkaTemplate;
+    private final ChatDeadLetterService deadLetterService;
+
+    @Value("${kafka.topic.chat-retry:chat-messages.retry}")
+    private String retryTopic;
+
+    @Value("${app.kafka.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.kafka.retry.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${app.kafka.retry.multiplier:2.0}")
+    private double multiplier;
+
+    @Value("${app.kafka.retry.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    private final AtomicLong forwardedTotal = new AtomicLong();
+    private final AtomicLong retriedTotal = new AtomicLong();
+    private final AtomicLong recoveredTotal = new AtomicLong();
+    private final AtomicLong deadLetteredTotal = new AtomicLong();
+
+    private volatile RetryStats lastStats = new RetryStats(0, 0, 0, 0, 0, 0);
+    private long lastRetried;
+    private long lastDeadLettered;
+    private long lastReportedAt = System.currentTimeMillis();
+
+    /**
+     * 재시도/DLT 현황 (이 노드 기준)
+     * @param forwardedTotal 재시도 토픽으로 옮긴 메시지 수
+     * @param retriedTotal 누적 재시도 횟수
+     * @param recoveredTotal 재시도로 처리에 성공한 메시지 수
+     * @param deadLetteredTotal DLT 로 보낸 메시지 수
+     * @param retriesPerMinute 최근 집계 구간의 분당 재시도 횟수
+     * @param deadLettersPerMinute 최근 집계 구간의 분당 DLT 적재 건수
+     */
+    public record RetryStats(long forwardedTotal, long retriedTotal, long recoveredTotal, long deadLetteredTotal,
+                             double retriesPerMinute, double deadLettersPerMinute) {}
+
+    /**
+     * 처리에 실패한 메시지를 재시도 토픽(재시도 불가 오류는 DLT)으로 보냅니다.
+     * 발행이 확인될 때까지 기다리며, 발행에 실패하면 예외를 던져 원본 레코드가 커밋되지 않도록 합니다.
+     *
+     * @param messageDto 실패한 메시지
+     * @param streamId   원본 레코드의 추적용 식별자
+     * @param cause      실패 원인
+     */
+    public void forward(ChatMessageDto messageDto, String streamId, Throwable cause) {
+        if (!isRetryable(cause)) {
+            log.warn("재시도 불가 오류, DLT 로 보냅니다 - Room: {}, Temp ID: {}, Error: {}",
+                    messageDto.getRoomId(), messageDto.getTempId(), cause.getMessage());
+            deadLetterService.publish(messageDto, cause, 1);
+            deadLetteredTotal.incrementAndGet();
+            return;
+        }
+
+        ProducerRecord<String, ChatMessageDto> record =
+                new ProducerRecord<>(retryTopic, String.valueOf(messageDto.getRoomId()), messageDto);
+        Headers headers = record.headers();
+        headers.add(ORIGIN_STREAM_ID_HEADER, utf8(streamId));
+        headers.add(ChatDeadLetterService.ATTEMPTS_HEADER, utf8("1"));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, utf8(cause.getClass().getName()));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, utf8(String.valueOf(cause.getMessage())));
+
+        try {
+            kafkaTemplate.send(record).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 토픽 발행 중 인터럽트 발생", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("재시도 토픽 발행 실패: " + retryTopic, e);
+        }
+
+        forwardedTotal.incrementAndGet();
+        log.warn("메시지 처리 실패, 재시도 토픽으로 이동 - Room: {}, Temp ID: {}, Error: {}",
+                messageDto.getRoomId(), messageDto.getTempId(), cause.getMessage());
+    }
+
+    /**
+     * 재시도 토픽 레코드의 원본 추적용 식별자를 반환합니다. (없으면 재시도 레코드 자신의 좌표)
+     */
+    public static String originStreamIdOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(ORIGIN_STREAM_ID_HEADER);
+        return header != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    /**
+     * 재시도 토픽 컨테이너의 백오프
+     * 최초 처리(원본 토픽)와 재시도 토픽의 첫 처리를 제외한 나머지 시도를 지수 백오프로 수행합니다.
+     */
+    public BackOff retryBackOff() {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(Math.max(maxAttempts - 2, 0));
+        backOff.setInitialInterval(initialBackoffMs);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxBackoffMs);
+        return backOff;
+    }
+
+    /**
+     * DLT 레코드에 추가할 헤더 (원본 토픽 처리 + 재시도 토픽 전달 횟수 = 총 시도 횟수)
+     */
+    public Headers deadLetterHeaders(ConsumerRecord<?, ?> record, Exception exception) {
+        int previous = 0;
+        Header attempts = record.headers().lastHeader(ChatDeadLetterService.ATTEMPTS_HEADER);
+        if (attempts != null) {
+            previous = Integer.parseInt(new String(attempts.value(), StandardCharsets.UTF_8));
+        }
+        int delivered = 1;
+        Header deliveryAttempt = record.headers().lastHeader(KafkaHeaders.DELIVERY_ATTEMPT);
+        if (deliveryAttempt != null && deliveryAttempt.value().length == Integer.BYTES) {
+            delivered = ByteBuffer.wrap(deliveryAttempt.value()).getInt();
+        }
+
+        Headers headers = new RecordHeaders();
+        headers.add(ChatDeadLetterService.ATTEMPTS_HEADER, utf8(String.valueOf(previous + delivered)));
+        return headers;
+    }
+
+    public void recordAttempt() {
+        retriedTotal.incrementAndGet();
+    }
+
+    public void recordRecovered() {
+        recoveredTotal.incrementAndGet();
+    }
+
+    public void recordDeadLetter() {
+        deadLetteredTotal.incrementAndGet();
+    }
+
+    /**
+     * 요청 데이터 자체의 문제(채팅방 없음, 잘못된 값)는 재시도해도 성공할 수 없으므로 바로 DLT 로 보냅니다.
+     */
+    public static boolean isRetryable(Throwable cause) {
+        return !(cause instanceof CustomApiException || cause instanceof IllegalArgumentException);
+    }
+
+    /**
+     * 주기적으로 재시도/DLT 비율을 집계하고, 발생한 경우 로그로 남깁니다.
+     */
+    @Scheduled(fixedRateString = "${app.kafka.retry.report-interval-ms:60000}")
+    public synchronized void reportRates() {
+        long retried = retriedTotal.get();
+        long deadLettered = deadLetteredTotal.get();
+        long now = System.currentTimeMillis();
+        double minutes = Math.max(now - lastReportedAt, 1) / 60000.0;
+
+        double retriesPerMinute = (retried - lastRetried) / minutes;
+        double deadLettersPerMinute = (deadLettered - lastDeadLettered) / minutes;
+        lastStats = new RetryStats(forwardedTotal.get(), retried, recoveredTotal.get(), deadLettered,
+                retriesPerMinute, deadLettersPerMinute);
+        lastRetried = retried;
+        lastDeadLettered = deadLettered;
+        lastReportedAt = now;
+
+        if (retriesPerMinute > 0 || deadLettersPerMinute > 0) {
+            log.warn("메시지 재시도 현황 - Retries/min: {}, DLT/min: {}",
+                    String.format("%.1f", retriesPerMinute), String.format("%.1f", deadLettersPerMinute));
+        }
+    }
+
+    /**
+     * 누적 값과 최근 집계 구간의 분당 비율을 반환합니다.
+     */
+    public RetryStats getStats() {
+        RetryStats stats = lastStats;
+        return new RetryStats(forwardedTotal.get(), retriedTotal.get(), recoveredTotal.get(), deadLetteredTotal.get(),
+                stats.retriesPerMinute(), stats.deadLettersPerMinute());
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
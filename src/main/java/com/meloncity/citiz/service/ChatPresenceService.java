@@ -0,0 +1,276 @@
+package com.meloncity.citiz.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * WebSocket 세션 단위 온라인 상태(presence) 관리 서비스
+ *
+ * - 채팅방별 Sorted Set(member: userId:sessionId, score: 마지막 확인 시각)으로 세션을 관리하여 갱신이 O(log n)
+ * - 이 노드에 연결된 세션은 주기적인 heartbeat 로 score 를 갱신하고,
+ *   갱신이 끊긴 세션(노드 장애, 비정상 종료)은 reaper 가 전역 세션 인덱스에서 찾아 제거
+ * - 참여자 수 브로드캐스트는 변경된 채팅방을 모아 주기적으로 한 번씩만 전송
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatPresenceService {
+
+    private static final String ROOM_KEY_PREFIX = "chat:presence:room:";
+    private static final String SESSION_INDEX_KEY = "chat:presence:sessions";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PubSubService pubSubService;
+
+    @Value("${app.chat.presence.session-ttl-seconds:90}")
+    private long sessionTtlSeconds;
+
+    @Value("${app.chat.presence.reap-batch-size:1000}")
+    private int reapBatchSize;
+
+    // 이 노드에 연결된 세션 정보 (sessionId -> 사용자/입장한 채팅방)
+    private final Map<String, LocalSession> localSessions = new ConcurrentHashMap<>();
+
+    // 참여자 수 브로드캐스트가 필요한 채팅방
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    private static final class LocalSession {
+        private volatile Long userId;
+        private final Set<Long> roomIds = ConcurrentHashMap.newKeySet();
+
+        private LocalSession(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    // ==================== 세션 이벤트 ====================
+
+    @EventListener
+    public void handleSessionConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        if (sessionId == null) {
+            return;
+        }
+
+        Long userId = parseUserId(accessor.getFirstNativeHeader("User-Id"));
+        localSessions.putIfAbsent(sessionId, new LocalSession(userId));
+        log.debug("WebSocket 세션 연결 - Session: {}, User: {}", sessionId, userId);
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        LocalSession session = localSessions.remove(event.getSessionId());
+        if (session == null || session.userId == null || session.roomIds.isEmpty()) {
+            return;
+        }
+
+        String member = member(session.userId, event.getSessionId());
+        pipelined(connection -> session.roomIds.forEach(roomId -> {
+            connection.zRem(roomKey(roomId), member);
+            connection.zRem(SESSION_INDEX_KEY, indexMember(roomId, member));
+        }));
+        dirtyRooms.addAll(session.roomIds);
+        log.debug("WebSocket 세션 종료에 따른 온라인 상태 제거 - Session: {}, Rooms: {}", event.getSessionId(), session.roomIds);
+    }
+
+    // ==================== 채팅방 입장/퇴장 ====================
+
+    /**
+     * 세션을 채팅방 온라인 사용자로 등록
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param sessionId WebSocket 세션 ID
+     */
+    public void join(Long roomId, Long userId, String sessionId) {
+        LocalSession session = localSessions.computeIfAbsent(sessionId, k -> new LocalSession(userId));
+        session.userId = userId;
+        session.roomIds.add(roomId);
+
+        String member = member(userId, sessionId);
+        double score = System.currentTimeMillis();
+        pipelined(connection -> {
+            connection.zAdd(roomKey(roomId), score, member);
+            connection.zAdd(SESSION_INDEX_KEY, score, indexMember(roomId, member));
+        });
+        dirtyRooms.add(roomId);
+    }
+
+    /**
+     * 세션을 채팅방 온라인 사용자에서 제거
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param sessionId WebSocket 세션 ID
+     */
+    public void leave(Long roomId, Long userId, String sessionId) {
+        LocalSession session = localSessions.get(sessionId);
+        if (session != null) {
+            session.roomIds.remove(roomId);
+        }
+
+        String member = member(userId, sessionId);
+        pipelined(connection -> {
+            connection.zRem(roomKey(roomId), member);
+            connection.zRem(SESSION_INDEX_KEY, indexMember(roomId, member));
+        });
+        dirtyRooms.add(roomId);
+    }
+
+    /**
+     * 채팅방의 온라인 사용자 ID 목록 조회 (여러 세션으로 접속한 사용자는 한 번만 포함)
+     * @param roomId 채팅방 ID
+     * @return 온라인 사용자 ID 목록
+     */
+    public Set<Long> getOnlineUserIds(Long roomId) {
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(roomKey(roomId), expiryCutoff(), Double.POSITIVE_INFINITY);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        for (String member : members) {
+            int separator = member.indexOf(':');
+            if (separator > 0) {
+                userIds.add(Long.valueOf(member.substring(0, separator)));
+            }
+        }
+        return userIds;
+    }
+
+    // ==================== 주기 작업 ====================
+
+    /**
+     * 이 노드에 연결된 세션들의 마지막 확인 시각을 갱신
+     * 노드가 살아 있는 동안에는 세션이 만료되지 않고, 노드 장애 시에는 갱신이 끊겨 reaper 가 정리
+     */
+    @Scheduled(fixedDelayString = "${app.chat.presence.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (localSessions.isEmpty()) {
+            return;
+        }
+
+        double score = System.currentTimeMillis();
+        try {
+            pipelined(connection -> localSessions.forEach((sessionId, session) -> {
+                if (session.userId == null) {
+                    return;
+                }
+                String member = member(session.userId, sessionId);
+                for (Long roomId : session.roomIds) {
+                    connection.zAdd(roomKey(roomId), score, member);
+                    connection.zAdd(SESSION_INDEX_KEY, score, indexMember(roomId, member));
+                }
+            }));
+        } catch (Exception e) {
+            log.error("온라인 상태 heartbeat 갱신 중 오류 발생 - Sessions: {}", localSessions.size(), e);
+        }
+    }
+
+    /**
+     * 마지막 확인 시각이 TTL 을 넘긴 세션을 제거
+     * 여러 노드에서 동시에 실행되어도 ZREM 은 멱등이므로 안전
+     */
+    @Scheduled(fixedDelayString = "${app.chat.presence.reaper-interval-ms:30000}")
+    public void reapExpiredSessions() {
+        try {
+            int reaped;
+            do {
+                Set<String> expired = stringRedisTemplate.opsForZSet()
+                        .rangeByScore(SESSION_INDEX_KEY, 0, expiryCutoff(), 0, reapBatchSize);
+                if (expired == null || expired.isEmpty()) {
+                    return;
+                }
+
+                Set<Long> rooms = new HashSet<>();
+                pipelined(connection -> {
+                    for (String indexMember : expired) {
+                        int separator = indexMember.indexOf(':');
+                        Long roomId = Long.valueOf(indexMember.substring(0, separator));
+                        connection.zRem(roomKey(roomId), indexMember.substring(separator + 1));
+                        connection.zRem(SESSION_INDEX_KEY, indexMember);
+                        rooms.add(roomId);
+                    }
+                });
+                dirtyRooms.addAll(rooms);
+                reaped = expired.size();
+
+                log.info("만료된 온라인 세션 제거 - Count: {}, Rooms: {}", reaped, rooms.size());
+            } while (reaped >= reapBatchSize);
+        } catch (Exception e) {
+            log.error("만료된 온라인 세션 제거 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 변경된 채팅방의 온라인 사용자 수를 모아서 브로드캐스트
+     * 짧은 시간 동안 입장/퇴장이 반복되어도 채팅방당 주기마다 한 번만 전송
+     */
+    @Scheduled(fixedDelayString = "${app.chat.presence.broadcast-interval-ms:1000}")
+    public void flushPresenceBroadcasts() {
+        if (dirtyRooms.isEmpty()) {
+            return;
+        }
+
+        for (Iterator<Long> it = dirtyRooms.iterator(); it.hasNext(); ) {
+            Long roomId = it.next();
+            it.remove();
+            try {
+                pubSubService.broadcastParticipantCount(roomId, getOnlineUserIds(roomId).size());
+            } catch (Exception e) {
+                log.error("온라인 사용자 수 브로드캐스트 중 오류 발생 - Room: {}", roomId, e);
+            }
+        }
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void pipelined(Consumer<StringRedisConnection> commands) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            commands.accept((StringRedisConnection) connection);
+            return null;
+        });
+    }
+
+    private double expiryCutoff() {
+        return System.currentTimeMillis() - sessionTtlSeconds * 1000;
+    }
+
+    private String roomKey(Long roomId) {
+        return ROOM_KEY_PREFIX + roomId;
+    }
+
+    private String member(Long userId, String sessionId) {
+        return userId + ":" + sessionId;
+    }
+
+    private String indexMember(Long roomId, String member) {
+        return roomId + ":" + member;
+    }
+
+    private Long parseUserId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
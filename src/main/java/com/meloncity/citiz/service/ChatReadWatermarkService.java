@@ -0,0 +1,104 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.repository.ChatMessageRepository;
+import com.meloncity.citiz.repository.ChatRoomParticipantRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 참여자별 읽음 위치(watermark) 관리 서비스
+ *
+ * 클라이언트가 "메시지 X 까지 읽음"을 보고하면 메모리에서 참여자별 최대값으로 병합하고,
+ * 주기적으로 ChatRoomParticipant 의 읽음 위치에 한 번씩만 반영합니다.
+ * 메시지 ID 는 pooled 시퀀스로 서버마다 블록 단위로 할당되어 채팅방 내에서 증가한다는 보장이 없으므로,
+ * 읽음 위치는 메시지 이력 커서와 같은 (생성일시, ID) 순서로 비교합니다.
+ * DB 반영은 현재 위치보다 뒤인 경우에만 수행하므로 watermark 는 항상 단조 증가합니다.
+ * 읽음 위치가 전진하면 읽지 않은 메시지 카운터도 함께 재설정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatReadWatermarkService {
+
+    private final ChatRoomParticipantRepository participantRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatUnreadCounterService unreadCounterService;
+
+    // 아직 DB 에 반영되지 않은 watermark (채팅방/참여자 -> 읽은 마지막 메시지 위치)
+    private final Map<WatermarkKey, Watermark> pendingWatermarks = new ConcurrentHashMap<>();
+
+    private record WatermarkKey(Long roomId, Long participantId) {}
+
+    /**
+     * 읽음 위치 (메시지 생성일시, 메시지 ID)
+     */
+    private record Watermark(LocalDateTime createDate, Long messageId) {
+        static final Comparator<Watermark> ORDER =
+                Comparator.comparing(Watermark::createDate).thenComparing(Watermark::messageId);
+
+        static Watermark later(Watermark a, Watermark b) {
+            return ORDER.compare(a, b) >= 0 ? a : b;
+        }
+    }
+
+    /**
+     * 읽음 위치를 전진시킵니다. 기존보다 앞선 위치는 무시됩니다.
+     * @param roomId 채팅방 ID
+     * @param participantId 참여자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     * @param createDate 마지막으로 읽은 메시지의 생성일시
+     */
+    public void advance(Long roomId, Long participantId, Long messageId, LocalDateTime createDate) {
+        pendingWatermarks.merge(new WatermarkKey(roomId, participantId),
+                new Watermark(createDate, messageId), Watermark::later);
+    }
+
+    /**
+     * 병합된 watermark 를 DB 에 반영합니다.
+     * 반영에 실패한 항목은 다음 주기에 다시 시도하도록 되돌려 놓습니다.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.read-watermark.flush-interval-ms:1000}")
+    public void flush() {
+        if (pendingWatermarks.isEmpty()) {
+            return;
+        }
+
+        int flushed = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (WatermarkKey key : pendingWatermarks.keySet()) {
+            Watermark watermark = pendingWatermarks.remove(key);
+            if (watermark == null) {
+                continue;
+            }
+            try {
+                int updated = participantRepository.advanceLastReadPosition(
+                        key.roomId(), key.participantId(), watermark.messageId(), watermark.createDate(), now);
+                if (updated > 0) {
+                    unreadCounterService.reset(key.roomId(), key.participantId(),
+                            chatMessageRepository.countUnreadMessages(
+                                    key.roomId(), key.participantId(), watermark.createDate(), watermark.messageId()));
+                    flushed += updated;
+                }
+            } catch (Exception e) {
+                log.error("읽음 위치 반영 중 오류 발생 - Room: {}, Participant: {}, Message ID: {}",
+                        key.roomId(), key.participantId(), watermark.messageId(), e);
+                pendingWatermarks.merge(key, watermark, Watermark::later);
+            }
+        }
+
+        log.debug("읽음 위치 반영 완료 - Updated: {}", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
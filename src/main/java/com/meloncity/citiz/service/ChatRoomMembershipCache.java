@@ -0,0 +1,145 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.config.redis.RedisPubSubConfig.PubSubChannels;
+import com.meloncity.citiz.dto.ParticipantNotificationDto;
+import com.meloncity.citiz.repository.ChatRoomParticipantRepository;
+import com.meloncity.citiz.util.codec.ChatPayloadCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 활성 참여자 캐시
+ * 메시지 전송 시 참여 여부 검증을 DB 조회 없이 처리하기 위한 로컬 캐시
+ * - roomId 별로 정렬된 long[] 참여자 ID 를 보관 (박싱 없는 이진 탐색)
+ * - 최대 채팅방 수를 넘으면 가장 오래 사용되지 않은 채팅방부터 제거 (LRU)
+ * - Redis Pub/Sub 입장/퇴장 채널을 구독하여 모든 노드에서 해당 채팅방을 무효화
+ * - Pub/Sub 메시지 유실에 대비하여 TTL 이 지나면 다시 로드
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatRoomMembershipCache {
+
+    private final ChatRoomParticipantRepository participantRepository;
+    private final RedisMessageListenerContainer redisMessageListener;
+    private final ChatPayloadCodec chatPayloadCodec;
+    private final PubSubChannels pubSubChannels;
+
+    @Value("${app.chat.membership-cache.max-rooms:10000}")
+    private int maxRooms;
+
+    @Value("${app.chat.membership-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Map<Long, Members> cache;
+
+    // 무효화가 일어날 때마다 증가, 로드 도중 무효화된 결과는 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Members> eldest) {
+                return size() > maxRooms;
+            }
+        });
+
+        MessageListener listener = (message, pattern) -> handleMembershipChange(message.getBody());
+        redisMessageListener.addMessageListener(listener, new ChannelTopic(pubSubChannels.getJoinChannel()));
+        redisMessageListener.addMessageListener(listener, new ChannelTopic(pubSubChannels.getLeaveChannel()));
+
+        log.info("채팅방 참여자 캐시 초기화 - Max Rooms: {}, TTL: {}s", maxRooms, ttlSeconds);
+    }
+
+    /**
+     * 사용자가 채팅방의 활성 참여자인지 확인합니다.
+     * 캐시에 없거나 만료된 경우에만 DB 에서 참여자 목록을 로드합니다.
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 활성 참여 여부
+     */
+    public boolean isActiveMember(Long roomId, Long userId) {
+        Members members = cache.get(roomId);
+        if (members == null || members.isExpired(ttlSeconds)) {
+            members = load(roomId);
+        }
+        return members.contains(userId);
+    }
+
+    /**
+     * 채팅방의 활성 참여자 ID 목록을 반환합니다.
+     * @param roomId 채팅방 ID
+     * @return 정렬된 활성 참여자 ID 배열 (복사본)
+     */
+    public long[] getActiveMemberIds(Long roomId) {
+        Members members = cache.get(roomId);
+        if (members == null || members.isExpired(ttlSeconds)) {
+            members = load(roomId);
+        }
+        return members.sortedIds().clone();
+    }
+
+    /**
+     * 채팅방의 캐시를 무효화합니다.
+     * @param roomId 채팅방 ID
+     */
+    public void evict(Long roomId) {
+        invalidations.incrementAndGet();
+        cache.remove(roomId);
+        log.debug("채팅방 참여자 캐시 무효화 - Room: {}", roomId);
+    }
+
+    private Members load(Long roomId) {
+        long version = invalidations.get();
+        List<Long> participantIds = participantRepository.findActiveParticipantIdsByRoomId(roomId);
+
+        long[] ids = new long[participantIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = participantIds.get(i);
+        }
+        Arrays.sort(ids);
+        Members members = new Members(ids, System.currentTimeMillis());
+
+        // 존재하지 않는 채팅방이 생성되기 전에 빈 목록이 캐시되지 않도록 빈 결과는 보관하지 않음
+        if (ids.length > 0 && version == invalidations.get()) {
+            cache.put(roomId, members);
+        }
+        return members;
+    }
+
+    private void handleMembershipChange(byte[] rawMessage) {
+        try {
+            ParticipantNotificationDto notification = chatPayloadCodec.decodeNotification(rawMessage);
+            if (notification != null && notification.getRoomId() != null) {
+                evict(notification.getRoomId());
+            }
+        } catch (Exception e) {
+            log.error("참여자 변경 알림 처리 중 오류 발생 - Size: {} bytes", rawMessage.length, e);
+        }
+    }
+
+    private record Members(long[] sortedIds, long loadedAt) {
+
+        boolean contains(long userId) {
+            return Arrays.binarySearch(sortedIds, userId) >= 0;
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - loadedAt > ttlSeconds * 1000;
+        }
+    }
+}
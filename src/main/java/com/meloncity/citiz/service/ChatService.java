@@ -9,20 +9,31 @@ import com.meloncity.citiz.repository.ChatMessageRepository;
 import com.meloncity.citiz.repository.ChatRoomRepository;
 import com.meloncity.citiz.repository.ChatRoomParticipantRepository;
 import com.meloncity.citiz.repository.ProfileRepository;
+import com.meloncity.citiz.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,14 +46,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChatService {
 
+    // chat_messages.temp_id 컬럼 길이
+    private static final int MAX_TEMP_ID_LENGTH = 64;
+
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomParticipantRepository participantRepository;
     private final ProfileRepository profileRepository;
+    private final ChatRoomMembershipCache membershipCache;
+    private final ChatReadWatermarkService readWatermarkService;
+    private final ChatUnreadCounterService unreadCounterService;
+    private final ChatMessageDedupWindow dedupWindow;
 //    private final RedisTemplate<String, Object> redisTemplate;
     private final KafkaTemplate<String, ChatMessageDto> kafkaTemplate;
 
 //    private final RedisStreamConfig.StreamSettings streamSettings;
+
     @Value("${kafka.topic.chat:chat-messages}")
     private String chatTopic;
 
@@ -62,6 +81,7 @@ public class ChatService {
                 .description(request.getDescription())
                 .maxParticipants(request.getMaxParticipants())
                 .isPrivate(request.getIsPrivate() != null ? request.getIsPrivate() : false)
+                .activeParticipantCount(1) // 생성자
                 .build();
 
         chatRoom = chatRoomRepository.save(chatRoom);
@@ -93,21 +113,21 @@ public class ChatService {
         Profile user = profileRepository.findById(userId)
                 .orElseThrow(() -> new CustomApiException(HttpStatus.BAD_REQUEST, "사용자를 찾을 수 없습니다: " + userId));
 
-        // 최대 참여자 수 확인
-        if (chatRoom.getMaxParticipants() != null) {
-            long currentParticipants = participantRepository.countByRoomIdAndIsActiveTrue(roomId);
-            if (currentParticipants >= chatRoom.getMaxParticipants()) {
-                throw new CustomApiException(HttpStatus.BAD_REQUEST, "채팅방이 가득 찼습니다.");
-            }
-        }
-
         // 기존 참여자 레코드가 있는지 확인 (재입장 케이스)
         ChatRoomParticipant existingParticipant = participantRepository
                 .findByRoomIdAndParticipantId(roomId, userId);
 
-        if (existingParticipant != null) {
-            existingParticipant.rejoin();
-        } else {
+        // 재입장은 비활성 -> 활성으로 실제 바뀐 경우에만 참여자 수를 늘림
+        // (조건부 UPDATE 가 행 잠금을 잡으므로 동시 재입장 요청 중 하나만 1 을 반환)
+        boolean activated = existingParticipant == null
+                || participantRepository.reactivate(roomId, userId, LocalDateTime.now()) == 1;
+
+        // 활성 참여자 수 증가 (최대 참여자 수 확인을 같은 UPDATE 에서 원자적으로 수행, 가득 차면 재활성화도 롤백)
+        if (activated && chatRoomRepository.incrementActiveParticipantCount(roomId) == 0) {
+            throw new CustomApiException(HttpStatus.BAD_REQUEST, "채팅방이 가득 찼습니다.");
+        }
+
+        if (existingParticipant == null) {
             ChatRoomParticipant newParticipant = ChatRoomParticipant.builder()
                     .room(chatRoom)
                     .participant(user)
@@ -115,6 +135,8 @@ public class ChatService {
             participantRepository.save(newParticipant);
         }
 
+        evictMembershipAfterCommit(roomId);
+
         log.info("사용자 {}가 채팅방 {}에 참여했습니다.", user.getName(), chatRoom.getName());
         return true;
     }
@@ -130,7 +152,13 @@ public class ChatService {
                 .findByRoomIdAndParticipantIdAndIsActiveTrue(roomId, userId)
                 .orElseThrow(() -> new CustomApiException(HttpStatus.BAD_REQUEST, "채팅방 참여자를 찾을 수 없습니다."));
 
-        participant.leave();
+        // 활성 -> 비활성으로 실제 바뀐 경우에만 참여자 수를 줄임 (동시 퇴장 요청 중 하나만 성공)
+        if (participantRepository.deactivate(roomId, userId, LocalDateTime.now()) == 0) {
+            throw new CustomApiException(HttpStatus.BAD_REQUEST, "채팅방 참여자를 찾을 수 없습니다.");
+        }
+        chatRoomRepository.decrementActiveParticipantCount(roomId);
+        evictMembershipAfterCommit(roomId);
+        runAfterCommit(() -> unreadCounterService.remove(roomId, userId));
         log.info("사용자 {}가 채팅방 {}에서 퇴장했습니다.", participant.getParticipant().getName(), participant.getRoom().getName());
         return true;
     }
@@ -173,32 +201,73 @@ public class ChatService {
     /**
      * Kafka에 채팅 메시지를 발행합니다.
      * @param messageDto 발행할 메시지 정보
-     * @return 발행 성공 여부 (Kafka는 비동기이므로 성공적으로 요청되었음을 의미)
+     * @return 발행 결과 (브로커 ack 수신 시 완료, 실패 시 예외로 완료)
      */
-    public String publishMessage(ChatMessageDto messageDto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 미사용
+    public CompletableFuture<SendResult<String, ChatMessageDto>> publishMessage(ChatMessageDto messageDto) {
         // 채팅방과 발신자 검증
         validateChatRoomAndSender(messageDto.getRoomId(), messageDto.getSenderId());
 
+        // 임시 메시지 ID는 중복 저장 방지 키로 사용되므로 항상 채워서 발행
+        if (messageDto.getTempId() == null || messageDto.getTempId().isBlank()) {
+            messageDto.setTempId(UUID.randomUUID().toString());
+        } else if (messageDto.getTempId().length() > MAX_TEMP_ID_LENGTH) {
+            throw new CustomApiException(HttpStatus.BAD_REQUEST, "임시 메시지 ID가 너무 깁니다. (최대 " + MAX_TEMP_ID_LENGTH + "자)");
+        }
+
         // 현재 시간 설정
         if (messageDto.getTimestamp() == null) {
             messageDto.setTimestamp(LocalDateTime.now());
         }
         messageDto.setStatus(ChatStatus.SENT);
 
-        // Kafka에 메시지 발행
-        kafkaTemplate.send(chatTopic, String.valueOf(messageDto.getRoomId()), messageDto);
+        // Kafka에 메시지 발행 (호출 스레드를 막지 않고 ack 는 비동기로 처리)
+        return kafkaTemplate.send(chatTopic, String.valueOf(messageDto.getRoomId()), messageDto)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Kafka 메시지 발행 실패 - Topic: {}, Room: {}, Sender: {}, Temp ID: {}",
+                                chatTopic, messageDto.getRoomId(), messageDto.getSenderId(), messageDto.getTempId(), ex);
+                        return;
+                    }
+                    log.debug("Kafka 메시지 발행 완료 - Topic: {}, Partition: {}, Offset: {}, Temp ID: {}",
+                            chatTopic, result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset(), messageDto.getTempId());
+                });
+    }
 
-        log.info("메시지가 Kafka Topic {}에 발행됨 - Room: {}, Sender: {}",
-                chatTopic, messageDto.getRoomId(), messageDto.getSenderId());
+    /**
+     * 이미 저장된 메시지인지 확인합니다. (Kafka 재전달 등으로 같은 메시지를 다시 받은 경우)
+     * 최근 저장 윈도우를 먼저 확인하고, 없으면 (채팅방, 발신자, 임시 메시지 ID) 로 DB 를 조회합니다.
+     *
+     * @param messageDto 확인할 메시지
+     * @return 이미 저장된 메시지 ID, 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public Long findPersistedMessageId(ChatMessageDto messageDto) {
+        Long messageId = dedupWindow.find(messageDto);
+        if (messageId != null || messageDto.getTempId() == null) {
+            return messageId;
+        }
 
-        return "KAFKA_SENT_" + messageDto.getTempId();
+        messageId = chatMessageRepository.findIdByClientKey(
+                messageDto.getRoomId(), messageDto.getSenderId(), messageDto.getTempId()).orElse(null);
+        if (messageId != null) {
+            dedupWindow.remember(ChatMessageDto.builder()
+                    .roomId(messageDto.getRoomId())
+                    .senderId(messageDto.getSenderId())
+                    .tempId(messageDto.getTempId())
+                    .messageId(messageId)
+                    .build());
+        }
+        return messageId;
     }
 
     /**
-     * Redis Stream의 메시지를 데이터베이스에 영구 저장합니다.
+     * Kafka로 수신한 메시지를 데이터베이스에 영구 저장합니다.
+     * 중복 여부는 호출 전에 findPersistedMessageId 로 확인하며, 동시에 저장되는 경우는 유니크 인덱스가 막습니다.
      *
      * @param messageDto 저장할 메시지 정보
-     * @param streamId   Redis Stream ID
+     * @param streamId   메시지 추적용 식별자 (Kafka 토픽-파티션@오프셋)
      */
     @Transactional
     public Long saveMessageToDatabase(ChatMessageDto messageDto, String streamId) {
@@ -215,13 +284,18 @@ public class ChatService {
                 .type(messageDto.getType())
                 .status(messageDto.getStatus())
                 .streamId(streamId)
+                .tempId(messageDto.getTempId())
                 .build();
 
         chatMessage = chatMessageRepository.save(chatMessage);
+        messageDto.setMessageId(chatMessage.getId());
 
         // 채팅방의 마지막 메시지 정보 업데이트
         chatRoom.updateLastMessage(messageDto.getContent(), messageDto.getTimestamp());
 
+        // 롤백된 메시지가 중복으로 걸러지지 않도록 커밋 이후에 윈도우에 기록
+        runAfterCommit(() -> dedupWindow.remember(messageDto));
+
         log.info("메시지가 데이터베이스에 저장됨 - Message ID: {}, Stream ID: {}",
                 chatMessage.getId(), streamId);
 
@@ -229,15 +303,119 @@ public class ChatService {
     }
 
     /**
-     * 채팅방의 메시지 히스토리를 조회합니다.
+     * Kafka poll 단위로 수신한 메시지들을 한 트랜잭션에서 일괄 저장합니다.
+     * 채팅방/발신자는 IN 조회로 한 번에 가져오고, 채팅방의 마지막 메시지 갱신은 방마다 한 번만 수행합니다.
+     * 최근 저장 윈도우에 있는 중복 메시지는 건너뛰고, 채팅방이나 발신자를 찾을 수 없는 메시지는
+     * 저장하지 않고 거부 목록으로 돌려주어 호출부에서 DLT 로 보내도록 합니다.
+     * 윈도우에 없는 중복은 유니크 인덱스 위반으로 실패하므로 호출부에서 레코드 단위로 재처리해야 합니다.
+     *
+     * @param messageDtos 저장할 메시지 목록 (수신 순서)
+     * @param streamIds   메시지별 추적용 식별자 (messageDtos 와 같은 순서)
+     * @return 새로 저장된 메시지(messageId 설정됨, 수신 순서 유지)와 거부된 메시지
+     */
+    @Transactional
+    public BatchSaveResult saveMessagesToDatabase(List<ChatMessageDto> messageDtos, List<String> streamIds) {
+        Set<Long> roomIds = new HashSet<>();
+        Set<Long> senderIds = new HashSet<>();
+        for (ChatMessageDto dto : messageDtos) {
+            roomIds.add(dto.getRoomId());
+            senderIds.add(dto.getSenderId());
+        }
+
+        Map<Long, ChatRoom> rooms = chatRoomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(ChatRoom::getId, Function.identity()));
+        Map<Long, Profile> senders = profileRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+
+        List<ChatMessageDto> accepted = new ArrayList<>(messageDtos.size());
+        List<RejectedMessage> rejected = new ArrayList<>();
+        List<ChatMessage> entities = new ArrayList<>(messageDtos.size());
+        Map<Long, ChatMessageDto> lastMessageByRoom = new HashMap<>();
+        Set<String> batchKeys = new HashSet<>();
+        int duplicates = 0;
+
+        for (int i = 0; i < messageDtos.size(); i++) {
+            ChatMessageDto dto = messageDtos.get(i);
+            String dedupKey = ChatMessageDedupWindow.keyOf(dto);
+
+            // 최근 저장된 메시지나 같은 배치 안에서 반복된 메시지는 다시 저장하지 않음
+            if (dedupKey != null && (dedupWindow.find(dto) != null || !batchKeys.add(dedupKey))) {
+                duplicates++;
+                log.debug("중복 메시지 저장 제외 - Room: {}, Sender: {}, Temp ID: {}",
+                        dto.getRoomId(), dto.getSenderId(), dto.getTempId());
+                continue;
+            }
+
+            ChatRoom chatRoom = rooms.get(dto.getRoomId());
+            Profile sender = senders.get(dto.getSenderId());
+
+            // 레코드 단위 저장과 같은 오류로 거부하여 재시도 없이 DLT 로 보냄
+            if (chatRoom == null) {
+                rejected.add(new RejectedMessage(dto, new CustomApiException(HttpStatus.NOT_FOUND,
+                        "채팅방을 찾을 수 없습니다: " + dto.getRoomId())));
+                continue;
+            }
+            if (sender == null) {
+                rejected.add(new RejectedMessage(dto, new CustomApiException(HttpStatus.NOT_FOUND,
+                        "발신자를 찾을 수 없습니다: " + dto.getSenderId())));
+                continue;
+            }
+
+            entities.add(ChatMessage.builder()
+                    .room(chatRoom)
+                    .sender(sender)
+                    .content(dto.getContent())
+                    .type(dto.getType())
+                    .status(dto.getStatus())
+                    .streamId(streamIds.get(i))
+                    .tempId(dto.getTempId())
+                    .build());
+            accepted.add(dto);
+            lastMessageByRoom.put(dto.getRoomId(), dto);
+        }
+
+        List<ChatMessage> saved = chatMessageRepository.saveAll(entities);
+        for (int i = 0; i < saved.size(); i++) {
+            accepted.get(i).setMessageId(saved.get(i).getId());
+        }
+
+        // 채팅방의 마지막 메시지 정보는 방마다 가장 마지막 메시지로 한 번만 업데이트
+        lastMessageByRoom.forEach((roomId, dto) ->
+                rooms.get(roomId).updateLastMessage(dto.getContent(), dto.getTimestamp()));
+
+        runAfterCommit(() -> accepted.forEach(dedupWindow::remember));
+
+        log.info("메시지 일괄 저장 완료 - 요청: {}, 저장: {}, 중복: {}, 거부: {}, 채팅방: {}",
+                messageDtos.size(), saved.size(), duplicates, rejected.size(), lastMessageByRoom.size());
+
+        return new BatchSaveResult(accepted, rejected);
+    }
+
+    /**
+     * 일괄 저장 결과
+     *
+     * @param saved    새로 저장된 메시지 (수신 순서)
+     * @param rejected 채팅방/발신자를 찾을 수 없어 저장하지 않은 메시지
+     */
+    public record BatchSaveResult(List<ChatMessageDto> saved, List<RejectedMessage> rejected) {}
+
+    public record RejectedMessage(ChatMessageDto message, CustomApiException cause) {}
+
+    /**
+     * 채팅방의 메시지 히스토리를 커서 기반으로 조회합니다.
+     * 기준점은 cursor > beforeMessageId > beforeTime 순으로 적용하며, 모두 없으면 최신 메시지부터 조회합니다.
      * @param roomId 채팅방 ID
      * @param userId 요청한 사용자 ID
-     * @param page 페이지 번호 (0부터 시작)
-     * @param size 페이지 크기
-     * @return 메시지 히스토리 목록
+     * @param cursor 이전 응답의 nextCursor (nullable)
+     * @param beforeMessageId 이 메시지 이전의 메시지를 조회 (nullable)
+     * @param beforeTime 이 시각 이전의 메시지를 조회 (nullable)
+     * @param limit 조회할 개수
+     * @return 메시지 목록과 다음 페이지 커서
      */
     @Transactional(readOnly = true)
-    public List<ChatMessageHistoryResponse> getChatHistory(Long roomId, Long userId, int page, int size) {
+    public CursorPageRes<ChatMessageHistoryResponse> getChatHistory(Long roomId, Long userId, String cursor,
+                                                                   Long beforeMessageId, LocalDateTime beforeTime,
+                                                                   int limit) {
         // 사용자가 채팅방 참여자인지 확인
         boolean isParticipant = participantRepository
                 .existsByRoomIdAndParticipantIdAndIsActiveTrue(roomId, userId);
@@ -246,13 +424,54 @@ public class ChatService {
             throw new CustomApiException(HttpStatus.NOT_FOUND, "채팅방에 참여하지 않은 사용자입니다.");
         }
 
-        // 페이징을 적용한 메시지 조회
-        List<ChatMessage> messages = chatMessageRepository
-                .findByRoomIdOrderByCreatedAtDesc(roomId, page * size, size);
+        CursorUtil.Cursor position = resolveHistoryCursor(roomId, cursor, beforeMessageId, beforeTime);
+
+        // 다음 페이지 존재 여부 확인을 위해 limit + 1 개 조회
+        List<ChatMessage> messages = position == null
+                ? chatMessageRepository.findLatestByRoomId(roomId, limit + 1)
+                : chatMessageRepository.findByRoomIdBefore(roomId, position.createDate(), position.id(), limit + 1);
+
+        boolean hasNext = messages.size() > limit;
+        if (hasNext) {
+            messages = messages.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ChatMessage last = messages.get(messages.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreateDate(), last.getId());
+        }
 
-        return messages.stream()
+        List<ChatMessageHistoryResponse> content = messages.stream()
                 .map(this::mapToChatMessageHistoryResponse)
                 .collect(Collectors.toList());
+
+        return new CursorPageRes<>(content, nextCursor, hasNext);
+    }
+
+    /**
+     * 히스토리 조회 기준 커서를 결정합니다.
+     */
+    private CursorUtil.Cursor resolveHistoryCursor(Long roomId, String cursor, Long beforeMessageId, LocalDateTime beforeTime) {
+        if (cursor != null && !cursor.isBlank()) {
+            return CursorUtil.decode(cursor);
+        }
+
+        if (beforeMessageId != null) {
+            ChatMessage before = chatMessageRepository.findById(beforeMessageId)
+                    .orElseThrow(() -> new CustomApiException(HttpStatus.NOT_FOUND, "메시지를 찾을 수 없습니다: " + beforeMessageId));
+            if (!before.getRoom().getId().equals(roomId)) {
+                throw new IllegalArgumentException("해당 채팅방의 메시지가 아닙니다: " + beforeMessageId);
+            }
+            return new CursorUtil.Cursor(before.getCreateDate(), before.getId());
+        }
+
+        if (beforeTime != null) {
+            // 같은 시각의 메시지는 제외 (id < 0 인 메시지는 없음)
+            return new CursorUtil.Cursor(beforeTime, 0L);
+        }
+
+        return null;
     }
 
     /**
@@ -262,10 +481,15 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<ChatRoomResponse> getUserChatRooms(Long userId) {
-        List<ChatRoom> chatRooms = chatRoomRepository.findByParticipantId(userId);
+        List<ChatRoomSummary> chatRooms = chatRoomRepository.findSummariesByParticipantId(userId);
+        Map<Long, Long> unreadCounts = unreadCounterService.getUnreadCounts(userId);
 
         return chatRooms.stream()
-                .map(this::mapToChatRoomResponse)
+                .map(summary -> {
+                    ChatRoomResponse response = mapToChatRoomResponse(summary);
+                    response.setUnreadCount(unreadCounts.getOrDefault(summary.getId(), 0L));
+                    return response;
+                })
                 .collect(Collectors.toList());
     }
 
@@ -294,75 +518,139 @@ public class ChatService {
 
     /**
      * 메시지를 읽음 처리합니다.
+     * 해당 메시지까지 읽은 것으로 간주하여 참여자의 읽음 위치를 전진시킵니다.
      * @param messageId 메시지 ID
      * @param userId 읽은 사용자 ID
      */
+    @Transactional(readOnly = true)
     public void markMessageAsRead(Long messageId, Long userId) {
-        ChatMessage message = chatMessageRepository.findById(messageId)
+        Long roomId = chatMessageRepository.findRoomIdById(messageId)
                 .orElseThrow(() -> new CustomApiException(HttpStatus.NOT_FOUND, "메시지를 찾을 수 없습니다: " + messageId));
 
-        // 사용자가 해당 채팅방 참여자인지 확인
-        boolean isParticipant = participantRepository
-                .existsByRoomIdAndParticipantIdAndIsActiveTrue(message.getRoom().getId(), userId);
+        markMessagesAsReadUpTo(roomId, userId, messageId);
+    }
 
-        if (!isParticipant) {
+    /**
+     * 채팅방의 메시지를 지정한 메시지까지 읽음 처리합니다.
+     * 읽음 위치는 메시지의 (생성일시, ID) 이며, 메모리에서 병합된 뒤 주기적으로 DB 에 반영되고 이전 위치보다 앞선 값은 무시됩니다.
+     * @param roomId 채팅방 ID
+     * @param userId 읽은 사용자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     */
+    public void markMessagesAsReadUpTo(Long roomId, Long userId, Long messageId) {
+        if (messageId == null || messageId <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 메시지 ID 입니다.");
+        }
+
+        if (!membershipCache.isActiveMember(roomId, userId)) {
             throw new CustomApiException(HttpStatus.NOT_FOUND, "해당 채팅방의 참여자가 아닙니다.");
         }
 
-        message.markAsRead();
+        LocalDateTime createDate = chatMessageRepository.findCreateDateByRoomIdAndId(roomId, messageId)
+                .orElseThrow(() -> new CustomApiException(HttpStatus.NOT_FOUND, "메시지를 찾을 수 없습니다: " + messageId));
 
-        // 참여자의 마지막 읽은 메시지 업데이트
-        ChatRoomParticipant participant = (ChatRoomParticipant) participantRepository
-                .findByRoomIdAndParticipantIdAndIsActiveTrue(message.getRoom().getId(), userId)
-                .orElseThrow();
+        readWatermarkService.advance(roomId, userId, messageId, createDate);
+
+        log.debug("메시지 읽음 위치 갱신 요청 - Room: {}, User: {}, Message ID: {}", roomId, userId, messageId);
+    }
 
-        participant.updateLastReadMessage(messageId);
+    /**
+     * 채팅방에서 사용자가 읽지 않은 메시지 수를 조회합니다.
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 읽지 않은 메시지 수
+     */
+    @Transactional(readOnly = true)
+    public long getUnreadMessageCount(Long roomId, Long userId) {
+        if (!membershipCache.isActiveMember(roomId, userId)) {
+            throw new CustomApiException(HttpStatus.NOT_FOUND, "해당 채팅방의 참여자가 아닙니다.");
+        }
 
-        log.info("메시지 읽음 처리됨 - Message ID: {}, User ID: {}", messageId, userId);
+        return unreadCounterService.getUnreadCount(roomId, userId);
+    }
+
+    /**
+     * 읽지 않은 메시지가 있는 채팅방 수를 조회합니다. (배지 표시용)
+     * @param userId 사용자 ID
+     * @return 읽지 않은 메시지가 있는 채팅방 수
+     */
+    @Transactional(readOnly = true)
+    public long countRoomsWithUnreadMessages(Long userId) {
+        return unreadCounterService.countRoomsWithUnread(userId);
     }
 
     /**
      * 채팅방과 발신자 유효성을 검증합니다.
+     * 활성 참여자는 채팅방과 사용자가 모두 존재함을 의미하므로 참여자 캐시 조회만으로 검증합니다.
      * @param roomId 채팅방 ID
      * @param senderId 발신자 ID
      */
     private void validateChatRoomAndSender(Long roomId, Long senderId) {
-        if (!chatRoomRepository.existsById(roomId)) {
-            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + roomId);
-        }
-
-        if (!profileRepository.existsById(senderId)) {
-            throw new IllegalArgumentException("사용자를 찾을 수 없습니다: " + senderId);
+        if (!membershipCache.isActiveMember(roomId, senderId)) {
+            throw new IllegalArgumentException("채팅방에 참여하지 않은 사용자입니다.");
         }
+    }
 
-        // 발신자가 채팅방 참여자인지 확인
-        boolean isParticipant = participantRepository
-                .existsByRoomIdAndParticipantIdAndIsActiveTrue(roomId, senderId);
+    /**
+     * 트랜잭션 커밋 이후 채팅방 참여자 캐시를 무효화합니다.
+     * 커밋 전에 무효화하면 다른 스레드가 변경 전 상태를 다시 캐시할 수 있으므로 커밋 이후에 수행합니다.
+     * @param roomId 채팅방 ID
+     */
+    private void evictMembershipAfterCommit(Long roomId) {
+        runAfterCommit(() -> membershipCache.evict(roomId));
+    }
 
-        if (!isParticipant) {
-            throw new IllegalArgumentException("채팅방에 참여하지 않은 사용자입니다.");
+    /**
+     * 트랜잭션 커밋 이후 작업을 실행합니다. 트랜잭션이 없으면 즉시 실행합니다.
+     * @param action 실행할 작업
+     */
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     /**
      * ChatRoom 엔티티를 ChatRoomResponse DTO로 변환합니다.
      */
     private ChatRoomResponse mapToChatRoomResponse(ChatRoom chatRoom) {
-        int participantCount = participantRepository.countByRoomIdAndIsActiveTrue(chatRoom.getId()).intValue();
-
         return ChatRoomResponse.builder()
                 .id(chatRoom.getId())
                 .name(chatRoom.getName())
                 .description(chatRoom.getDescription())
                 .lastMessage(chatRoom.getLastMessage())
                 .lastMessageTime(chatRoom.getLastMessageTime())
-                .participantCount(participantCount)
+                .participantCount(chatRoom.getActiveParticipantCount())
                 .maxParticipants(chatRoom.getMaxParticipants())
                 .isPrivate(chatRoom.getIsPrivate())
                 .timestamp(chatRoom.getCreateDate())
                 .build();
     }
 
+    /**
+     * ChatRoomSummary 프로젝션을 ChatRoomResponse DTO로 변환합니다.
+     */
+    private ChatRoomResponse mapToChatRoomResponse(ChatRoomSummary summary) {
+        return ChatRoomResponse.builder()
+                .id(summary.getId())
+                .name(summary.getName())
+                .description(summary.getDescription())
+                .lastMessage(summary.getLastMessage())
+                .lastMessageTime(summary.getLastMessageTime())
+                .participantCount(summary.getParticipantCount().intValue())
+                .maxParticipants(summary.getMaxParticipants())
+                .isPrivate(summary.getIsPrivate())
+                .timestamp(summary.getCreateDate())
+                .build();
+    }
+
     /**
      * ChatMessage 엔티티를 ChatMessageHistoryResponse DTO로 변환합니다.
      */
@@ -381,9 +669,9 @@ public class ChatService {
 
     @Transactional(readOnly = true)
     public List<ChatRoomResponse> findAllChatRooms() {
-        List<ChatRoom> chatRooms = chatRoomRepository.findAll();
+        List<ChatRoomSummary> chatRooms = chatRoomRepository.findAllSummaries();
         return chatRooms.stream()
-                .map(this::mapToChatRoomResponse) // 기존 매핑 메서드 활용
+                .map(this::mapToChatRoomResponse)
                 .collect(Collectors.toList());
     }
 
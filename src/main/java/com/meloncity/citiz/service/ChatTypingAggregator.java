@@ -0,0 +1,262 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.domain.Profile;
+import com.meloncity.citiz.dto.TypingStatusDto;
+import com.meloncity.citiz.service.broadcast.ChatBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 타이핑 상태 병합기
+ *
+ * 채팅방별 입력 중인 사용자를 Redis Sorted Set(chat:typing:room:{roomId}, member: userId, score: 만료 시각)에 두어
+ * 여러 노드가 같은 목록을 공유하고, 목록이 바뀐 채팅방만 고정 주기(tick)마다 병합된 전체 목록을 브로드캐스트합니다.
+ * - 키 입력마다 들어오는 반복 이벤트는 만료 시각만 연장하며, 같은 노드에서는 만료 시간의 절반 동안 Redis 갱신도 생략
+ * - 만료된 사용자는 전역 인덱스(chat:typing:index)에서 꺼낸 노드가 채팅방 키에서 제거하며, 실제로 제거한 노드만 브로드캐스트
+ * - Redis Cluster 에서 슬롯이 갈리지 않도록 모든 스크립트는 키 하나만 다룸
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatTypingAggregator {
+
+    private static final String ROOM_KEY_PREFIX = "chat:typing:room:";
+    private static final String INDEX_KEY = "chat:typing:index";
+
+    // 입력 중으로 등록하고, 새로 등록되었거나 만료된 상태였으면 1 반환
+    // Redis Cluster 에서도 동작하도록 각 스크립트는 KEYS 로 선언한 키 하나만 다룸
+    // KEYS[1]: 채팅방 키 / ARGV: userId, 만료 시각, 현재 시각, 키 TTL(ms)
+    private static final RedisScript<Long> START_SCRIPT = new DefaultRedisScript<>("""
+            local previous = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            if previous and tonumber(previous) > tonumber(ARGV[3]) then
+              return 0
+            end
+            return 1
+            """, Long.class);
+
+    // 입력 중 상태를 해제하고, 만료 전 상태를 제거했으면 1 반환
+    // KEYS[1]: 채팅방 키 / ARGV: userId, 현재 시각
+    private static final RedisScript<Long> STOP_SCRIPT = new DefaultRedisScript<>("""
+            local previous = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            if previous and tonumber(previous) > tonumber(ARGV[2]) then
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 만료된 인덱스 항목(roomId:userId)을 최대 ARGV[2] 개 꺼내 제거하고 반환
+    // 여러 노드가 동시에 실행해도 하나의 노드만 같은 항목을 가져가므로 브로드캐스트가 중복되지 않음
+    // KEYS[1]: 인덱스 / ARGV: 현재 시각, 최대 개수
+    private static final RedisScript<List> EXPIRE_SCRIPT = new DefaultRedisScript<>("""
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, member in ipairs(expired) do
+              redis.call('ZREM', KEYS[1], member)
+            end
+            return expired
+            """, List.class);
+
+    // 채팅방 키에서 아직 만료 상태인 사용자만 제거하고 제거한 수 반환 (그 사이 다시 입력한 사용자는 유지)
+    // KEYS[1]: 채팅방 키 / ARGV: 현재 시각, userId...
+    private static final RedisScript<Long> EXPIRE_ROOM_SCRIPT = new DefaultRedisScript<>("""
+            local removed = 0
+            for i = 2, #ARGV do
+              local score = redis.call('ZSCORE', KEYS[1], ARGV[i])
+              if score and tonumber(score) <= tonumber(ARGV[1]) then
+                redis.call('ZREM', KEYS[1], ARGV[i])
+                removed = removed + 1
+              end
+            end
+            return removed
+            """, Long.class);
+
+    private final ChatBroadcaster chatBroadcaster;
+    private final ProfileService profileService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.chat.typing.expire-ms:5000}")
+    private long expireMs;
+
+    @Value("${app.chat.typing.name-cache.max-size:10000}")
+    private int nameCacheMaxSize;
+
+    @Value("${app.chat.typing.name-cache.ttl-seconds:600}")
+    private long nameCacheTtlSeconds;
+
+    @Value("${app.chat.typing.expire-batch-size:1000}")
+    private int expireBatchSize;
+
+    // 이 노드가 마지막으로 Redis 에 기록한 만료 시각 (roomId:userId -> 만료 시각)
+    private final Map<String, Long> writtenExpiry = new ConcurrentHashMap<>();
+
+    // 다음 tick 에 목록을 전송해야 하는 채팅방
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    // 사용자 이름 캐시 (LRU, userId -> 이름)
+    private final Map<Long, CachedName> nameCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedName> eldest) {
+            return size() > nameCacheMaxSize;
+        }
+    });
+
+    private record CachedName(String name, long loadedAtMillis) {}
+
+    /**
+     * 타이핑 이벤트 반영
+     * 이미 입력 중인 사용자의 반복 이벤트는 만료 시각만 연장하고 브로드캐스트를 발생시키지 않음
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param userName 클라이언트가 보낸 사용자 이름 (없으면 캐시/DB 에서 조회)
+     * @param typing 입력 중 여부
+     */
+    public void onTyping(Long roomId, Long userId, String userName, boolean typing) {
+        long now = System.currentTimeMillis();
+        if (userName != null && !userName.isBlank()) {
+            nameCache.put(userId, new CachedName(userName, now));
+        }
+
+        String member = indexMember(roomId, userId);
+        List<String> keys = List.of(roomKey(roomId));
+        try {
+            if (typing) {
+                // 만료까지 절반 이상 남아 있으면 Redis 갱신 생략
+                Long written = writtenExpiry.get(member);
+                if (written != null && written - now > expireMs / 2) {
+                    return;
+                }
+                long expiresAt = now + expireMs;
+                writtenExpiry.put(member, expiresAt);
+                // 인덱스를 먼저 기록해 채팅방 키에 남은 상태는 항상 만료 정리 대상이 되도록 함
+                stringRedisTemplate.opsForZSet().add(INDEX_KEY, member, expiresAt);
+                Long started = stringRedisTemplate.execute(START_SCRIPT, keys, String.valueOf(userId),
+                        String.valueOf(expiresAt), String.valueOf(now), String.valueOf(expireMs * 2));
+                if (started != null && started == 1L) {
+                    dirtyRooms.add(roomId);
+                }
+            } else {
+                writtenExpiry.remove(member);
+                Long stopped = stringRedisTemplate.execute(STOP_SCRIPT, keys, String.valueOf(userId),
+                        String.valueOf(now));
+                stringRedisTemplate.opsForZSet().remove(INDEX_KEY, member);
+                if (stopped != null && stopped == 1L) {
+                    dirtyRooms.add(roomId);
+                }
+            }
+        } catch (Exception e) {
+            writtenExpiry.remove(member);
+            log.error("타이핑 상태 반영 중 오류 발생 - Room: {}, User: {}", roomId, userId, e);
+        }
+    }
+
+    /**
+     * 만료된 타이핑 상태를 정리하고, 변경된 채팅방에 입력 중인 사용자 목록을 전송
+     */
+    @Scheduled(fixedDelayString = "${app.chat.typing.tick-ms:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        writtenExpiry.values().removeIf(expiresAt -> expiresAt <= now);
+
+        try {
+            expireTypingUsers(now);
+        } catch (Exception e) {
+            log.error("만료된 타이핑 상태 정리 중 오류 발생", e);
+        }
+
+        for (Iterator<Long> it = dirtyRooms.iterator(); it.hasNext(); ) {
+            Long roomId = it.next();
+            it.remove();
+            try {
+                broadcastTypingUsers(roomId, now);
+            } catch (Exception e) {
+                log.error("타이핑 상태 브로드캐스트 중 오류 발생 - Room: {}", roomId, e);
+            }
+        }
+    }
+
+    private void expireTypingUsers(long now) {
+        List<?> expired = stringRedisTemplate.execute(EXPIRE_SCRIPT, List.of(INDEX_KEY),
+                String.valueOf(now), String.valueOf(expireBatchSize));
+        if (expired == null || expired.isEmpty()) {
+            return;
+        }
+
+        // 채팅방 키는 서로 다른 슬롯에 있을 수 있으므로 채팅방별로 나누어 제거
+        Map<Long, List<String>> usersByRoom = new HashMap<>();
+        for (Object value : expired) {
+            String member = value.toString();
+            int separator = member.indexOf(':');
+            usersByRoom.computeIfAbsent(Long.valueOf(member.substring(0, separator)), roomId -> new ArrayList<>())
+                    .add(member.substring(separator + 1));
+        }
+
+        String nowArg = String.valueOf(now);
+        usersByRoom.forEach((roomId, userIds) -> {
+            List<String> args = new ArrayList<>(userIds.size() + 1);
+            args.add(nowArg);
+            args.addAll(userIds);
+            try {
+                Long removed = stringRedisTemplate.execute(EXPIRE_ROOM_SCRIPT, List.of(roomKey(roomId)),
+                        args.toArray());
+                if (removed != null && removed > 0) {
+                    dirtyRooms.add(roomId);
+                }
+            } catch (Exception e) {
+                log.error("만료된 타이핑 상태 정리 중 오류 발생 - Room: {}", roomId, e);
+            }
+        });
+    }
+
+    private void broadcastTypingUsers(Long roomId, long now) {
+        // 다른 노드에서 입력 중인 사용자까지 병합된 전체 목록을 전송
+        Set<String> users = stringRedisTemplate.opsForZSet()
+                .rangeByScore(roomKey(roomId), now, Double.POSITIVE_INFINITY);
+        List<TypingStatusDto.TypingUser> typingUsers = (users != null ? users : Set.<String>of()).stream()
+                .map(Long::valueOf)
+                .sorted()
+                .map(userId -> new TypingStatusDto.TypingUser(userId, resolveName(userId, now)))
+                .toList();
+
+        String destination = "/topic/chat/" + roomId + "/typing";
+        chatBroadcaster.broadcast(roomId, destination, new TypingStatusDto(roomId, typingUsers, now));
+
+        log.debug("타이핑 상태 브로드캐스트 - Room: {}, Typing: {}", roomId, typingUsers.size());
+    }
+
+    private String resolveName(Long userId, long now) {
+        CachedName cached = nameCache.get(userId);
+        if (cached != null && now - cached.loadedAtMillis() < nameCacheTtlSeconds * 1000) {
+            return cached.name();
+        }
+
+        String name;
+        try {
+            Profile profile = profileService.findById(userId);
+            name = profile.getName();
+        } catch (Exception e) {
+            name = "User_" + userId;
+        }
+        nameCache.put(userId, new CachedName(name, now));
+        return name;
+    }
+
+    private String roomKey(Long roomId) {
+        return ROOM_KEY_PREFIX + roomId;
+    }
+
+    private String indexMember(Long roomId, Long userId) {
+        return roomId + ":" + userId;
+    }
+}
@@ -0,0 +1,317 @@
+package com.meloncity.citiz.service;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.repository.ChatRoomParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 읽지 않은 메시지 수 카운터 서비스
+ *
+ * 사용자별 Redis Hash(chat:unread:user:{userId}, field: roomId, value: 읽지 않은 메시지 수)로 관리하여
+ * 채팅방 목록/배지 조회 시 메시지 테이블을 조회하지 않고 O(채팅방 수)로 처리합니다.
+ * - 메시지 저장 시 발신자를 제외한 활성 참여자의 카운터 증가
+ * - 읽음 위치 전진 시 카운터 재설정
+ * - Hash 가 없는 사용자는 조회 시 DB 에서 한 번 계산하여 초기화 (초기화 표시 필드로 채팅방이 없는 사용자도 구분)
+ * - 조회하지 않은 지 오래된 사용자의 Hash 는 만료시키고, 최근 조회한 사용자만 한 노드에서 주기적으로 DB 기준으로 보정
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatUnreadCounterService {
+
+    private static final String KEY_PREFIX = "chat:unread:user:";
+    // 최근 조회한 사용자 (member: userId, score: 마지막 조회 시각)
+    private static final String ACTIVE_USERS_KEY = "chat:unread:active";
+    private static final String RECONCILE_LOCK_KEY = "chat:unread:reconcile:lock";
+    // 초기화 표시 필드 (채팅방 ID 가 아니므로 조회 결과에서 제외)
+    private static final String INITIALIZED_FIELD = "_init";
+
+    // Hash 전체를 읽으면서 만료 시간을 연장하고 최근 조회 사용자로 기록
+    // KEYS[1]: 사용자 Hash, KEYS[2]: 최근 조회 사용자 / ARGV: userId, 현재 시각, TTL(ms)
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+            if redis.call('PEXPIRE', KEYS[1], ARGV[3]) == 0 then
+              return {}
+            end
+            return redis.call('HGETALL', KEYS[1])
+            """, List.class);
+
+    // DB 계산 결과로 교체하되, DB 조회 전에 읽은 값(ARGV[3i])과 지금 값이 다른 필드는 그 사이의 증가/재설정을
+    // 잃지 않도록 건너뜀. 빈 문자열은 필드 없음을 뜻함
+    // ARGV[1]: 초기화 표시 필드, ARGV[2]: TTL(ms), 이후 (필드, 이전 값, 새 값) 반복
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            local skipped = 0
+            for i = 3, #ARGV, 3 do
+              local current = redis.call('HGET', KEYS[1], ARGV[i]) or ''
+              if current == ARGV[i + 1] then
+                if ARGV[i + 2] == '' then
+                  redis.call('HDEL', KEYS[1], ARGV[i])
+                else
+                  redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 2])
+                end
+              else
+                skipped = skipped + 1
+              end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], '1')
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return skipped
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 초기화된(Hash 가 존재하는) 사용자만 증가시켜 일부 채팅방만 담긴 Hash 가 생기지 않도록 함
+    // KEYS[i] 의 ARGV[2i-1] 필드를 ARGV[2i] 만큼 증가
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local updated = 0
+            for i, key in ipairs(KEYS) do
+              if redis.call('EXISTS', key) == 1 then
+                redis.call('HINCRBY', key, ARGV[i * 2 - 1], ARGV[i * 2])
+                updated = updated + 1
+              end
+            end
+            return updated
+            """, Long.class);
+
+    private static final RedisScript<Long> SET_IF_EXISTS_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatRoomParticipantRepository participantRepository;
+    private final ChatRoomMembershipCache membershipCache;
+
+    @Value("${app.chat.unread.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    @Value("${app.chat.unread.active-ttl-minutes:1440}")
+    private long activeTtlMinutes;
+
+    @Value("${app.chat.unread.reconcile-lock-ms:300000}")
+    private long reconcileLockMs;
+
+    /**
+     * 저장된 메시지만큼 발신자를 제외한 활성 참여자의 카운터를 증가시킵니다.
+     * 배치 내 동일 (채팅방, 참여자) 증가분은 합산하여 한 번의 스크립트 호출로 반영합니다.
+     * @param messages 저장된 메시지 목록
+     */
+    public void incrementForMessages(List<ChatMessageDto> messages) {
+        Map<Long, Map<Long, Long>> deltasByRoom = new HashMap<>();
+        for (ChatMessageDto message : messages) {
+            long[] memberIds = membershipCache.getActiveMemberIds(message.getRoomId());
+            Map<Long, Long> deltas = deltasByRoom.computeIfAbsent(message.getRoomId(), k -> new HashMap<>());
+            for (long memberId : memberIds) {
+                if (!Objects.equals(memberId, message.getSenderId())) {
+                    deltas.merge(memberId, 1L, Long::sum);
+                }
+            }
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        deltasByRoom.forEach((roomId, deltas) -> deltas.forEach((userId, delta) -> {
+            keys.add(key(userId));
+            args.add(String.valueOf(roomId));
+            args.add(String.valueOf(delta));
+        }));
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.execute(INCREMENT_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            // 카운터 갱신 실패는 메시지 처리를 막지 않고, 주기적인 보정 작업에서 복구
+            log.error("읽지 않은 메시지 카운터 증가 중 오류 발생 - Counters: {}", keys.size(), e);
+        }
+    }
+
+    /**
+     * 읽음 위치가 전진한 참여자의 카운터를 재설정합니다.
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param unreadCount 읽음 위치 이후의 읽지 않은 메시지 수
+     */
+    public void reset(Long roomId, Long userId, long unreadCount) {
+        try {
+            stringRedisTemplate.execute(SET_IF_EXISTS_SCRIPT, List.of(key(userId)),
+                    String.valueOf(roomId), String.valueOf(unreadCount));
+        } catch (Exception e) {
+            log.error("읽지 않은 메시지 카운터 재설정 중 오류 발생 - Room: {}, User: {}", roomId, userId, e);
+        }
+    }
+
+    /**
+     * 채팅방에서 나간 참여자의 카운터를 제거합니다.
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     */
+    public void remove(Long roomId, Long userId) {
+        try {
+            stringRedisTemplate.opsForHash().delete(key(userId), String.valueOf(roomId));
+        } catch (Exception e) {
+            log.error("읽지 않은 메시지 카운터 제거 중 오류 발생 - Room: {}, User: {}", roomId, userId, e);
+        }
+    }
+
+    /**
+     * 사용자가 참여 중인 채팅방별 읽지 않은 메시지 수를 조회합니다.
+     * @param userId 사용자 ID
+     * @return 채팅방 ID -> 읽지 않은 메시지 수
+     */
+    public Map<Long, Long> getUnreadCounts(Long userId) {
+        List<?> entries = stringRedisTemplate.execute(READ_SCRIPT, List.of(key(userId), ACTIVE_USERS_KEY),
+                String.valueOf(userId), String.valueOf(System.currentTimeMillis()), String.valueOf(activeTtlMillis()));
+        if (entries == null || entries.isEmpty()) {
+            return rebuild(userId);
+        }
+
+        Map<Long, Long> counts = new HashMap<>(entries.size() / 2);
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            String field = entries.get(i).toString();
+            if (!INITIALIZED_FIELD.equals(field)) {
+                counts.put(Long.valueOf(field), Math.max(0L, Long.parseLong(entries.get(i + 1).toString())));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 특정 채팅방의 읽지 않은 메시지 수를 조회합니다.
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 읽지 않은 메시지 수
+     */
+    public long getUnreadCount(Long roomId, Long userId) {
+        return getUnreadCounts(userId).getOrDefault(roomId, 0L);
+    }
+
+    /**
+     * 읽지 않은 메시지가 있는 채팅방 수를 조회합니다. (배지 표시용)
+     * @param userId 사용자 ID
+     * @return 읽지 않은 메시지가 있는 채팅방 수
+     */
+    public long countRoomsWithUnread(Long userId) {
+        return getUnreadCounts(userId).values().stream()
+                .filter(count -> count > 0)
+                .count();
+    }
+
+    /**
+     * 사용자의 카운터를 DB 기준으로 다시 계산합니다.
+     * DB 조회 중에 다른 요청이 바꾼 필드는 덮어쓰지 않으므로, 그 사이의 증가/재설정은 유실되지 않습니다.
+     * @param userId 사용자 ID
+     * @return 채팅방 ID -> 읽지 않은 메시지 수
+     */
+    public Map<Long, Long> rebuild(Long userId) {
+        String key = key(userId);
+        HashOperations<String, String, String> hashOps = stringRedisTemplate.opsForHash();
+        Map<String, String> before = hashOps.entries(key);
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : participantRepository.countUnreadMessagesPerRoom(userId)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+
+        Set<String> fields = new HashSet<>(before.keySet());
+        fields.remove(INITIALIZED_FIELD);
+        counts.keySet().forEach(roomId -> fields.add(String.valueOf(roomId)));
+
+        List<String> args = new ArrayList<>(fields.size() * 3 + 2);
+        args.add(INITIALIZED_FIELD);
+        args.add(String.valueOf(activeTtlMillis()));
+        for (String field : fields) {
+            Long count = counts.get(Long.valueOf(field));
+            args.add(field);
+            args.add(before.getOrDefault(field, ""));
+            args.add(count != null ? String.valueOf(count) : "");
+        }
+
+        Long skipped = stringRedisTemplate.execute(REPLACE_SCRIPT, List.of(key), args.toArray());
+        if (skipped != null && skipped > 0) {
+            log.debug("읽지 않은 메시지 카운터 재계산 중 변경된 필드 유지 - User: {}, Fields: {}", userId, skipped);
+        }
+        return counts;
+    }
+
+    /**
+     * 최근 조회한 사용자의 카운터를 DB 기준으로 보정합니다.
+     * 카운터 증가/재설정 사이의 경합이나 Redis 오류로 생긴 오차를 복구합니다.
+     * 여러 노드 중 락을 얻은 한 노드만 실행하며, 조회하지 않은 지 오래된 사용자는 Hash 가 만료되므로 제외합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.unread.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.chat.unread.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(RECONCILE_LOCK_KEY, token, Duration.ofMillis(reconcileLockMs));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("다른 노드에서 읽지 않은 메시지 카운터 보정 중, 건너뜁니다");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int reconciled = 0;
+        try {
+            ZSetOperations<String, String> zSetOps = stringRedisTemplate.opsForZSet();
+            double cutoff = start - activeTtlMillis();
+            zSetOps.removeRangeByScore(ACTIVE_USERS_KEY, Double.NEGATIVE_INFINITY, cutoff);
+
+            long offset = 0;
+            Set<String> userIds;
+            do {
+                userIds = zSetOps.rangeByScore(ACTIVE_USERS_KEY, cutoff, Double.POSITIVE_INFINITY,
+                        offset, reconcileBatchSize);
+                if (userIds == null) {
+                    break;
+                }
+                for (String userId : userIds) {
+                    try {
+                        rebuild(Long.valueOf(userId));
+                        reconciled++;
+                    } catch (Exception e) {
+                        log.error("읽지 않은 메시지 카운터 보정 중 오류 발생 - User: {}", userId, e);
+                    }
+                }
+                offset += reconcileBatchSize;
+            } while (userIds.size() == reconcileBatchSize
+                    && System.currentTimeMillis() - start < reconcileLockMs);
+        } catch (Exception e) {
+            log.error("읽지 않은 메시지 카운터 보정 작업 중 오류 발생", e);
+        } finally {
+            stringRedisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(RECONCILE_LOCK_KEY), token);
+        }
+
+        log.info("읽지 않은 메시지 카운터 보정 완료 - Users: {}, Elapsed: {}ms",
+                reconciled, System.currentTimeMillis() - start);
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private long activeTtlMillis() {
+        return activeTtlMinutes * 60_000;
+    }
+}
@@ -27,6 +27,7 @@ public class CommentService {
     private final ProfileRepository profileRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final PostDetailCache postDetailCache;
 
     public CommentResDto saveComment(Long id, CommentReqDto commentReqDto, CustomUserDetails user){
         Profile profile = profileRepository.findById(user.getId()).orElseThrow(() -> new ResourceNotFoundException("Profile", "id", user.getId()));
@@ -35,6 +36,7 @@ public class CommentService {
         Comment comment = new Comment(profile, post, commentReqDto.getContent(), null);
 
         commentRepository.save(comment);
+        postDetailCache.evictAfterCommit(post.getId());
 
         return new CommentResDto(profile, comment);
     }
@@ -52,6 +54,7 @@ public class CommentService {
             result = "PERMISSION DENIED";
         }else{
             comment.updateContent(commentReqDto.getContent());
+            postDetailCache.evictAfterCommit(id);
             resultCode = 1;
             result = commentReqDto.getContent();
         }
@@ -74,6 +77,7 @@ public class CommentService {
             result = "PERMISSION DENIED";
         }else{
             commentRepository.deleteById(commentReqDto.getCommentId());
+            postDetailCache.evictAfterCommit(id);
         }
 
         return result;
@@ -1,47 +1,240 @@
 package com.meloncity.citiz.service;
 
 import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.service.broadcast.ChatBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaChatConsumer {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(KafkaChatConsumer.class);
+
+    private final ChatBroadcaster chatBroadcaster;
     private final ChatService chatService;
+    private final ChatUnreadCounterService unreadCounterService;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final ChatMessageRetryService retryService;
+    private final ChatDeadLetterService deadLetterService;
 
     /**
      * Kafka Topic으로부터 메시지를 수신하여 WebSocket으로 브로드캐스트합니다.
+     * app.kafka.consumer.batch-listener 가 false 일 때만 동작하는 레코드 단위 리스너
      */
     @KafkaListener(
+            id = "chatMessageListener",
             topics = "${kafka.topic.chat:chat-messages}",
             groupId = "${spring.kafka.consumer.group-id:chat-group}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "#{!${app.kafka.consumer.batch-listener:false}}"
     )
-    public void consume(ChatMessageDto messageDto) {
+    public void consume(ConsumerRecord<String, ChatMessageDto> record) {
+        ChatMessageDto messageDto = prepare(record);
+        String streamId = streamIdOf(record);
         log.info("Kafka 메시지 수신 - Room: {}, Sender: {}, Content: {}",
                 messageDto.getRoomId(), messageDto.getSenderId(), messageDto.getContent());
 
         try {
-            // 1. 데이터베이스에 메시지 저장 (RedisStreamService의 기존 로직과 동일하게 유지 가능)
-            // 기존에는 Redis Stream ID를 넘겼으나, 여기서는 Kafka Offset 등을 넘길 수 있음.
-            // 일단은 식별자 용도로 "KAFKA_" 접두어를 붙인 tempId 등을 활용
-            Long messageId = chatService.saveMessageToDatabase(messageDto, "KAFKA_" + System.currentTimeMillis());
-            messageDto.setMessageId(messageId);
+            deliver(messageDto, streamId);
+        } catch (Exception e) {
+            // 파티션을 막지 않도록 재시도 토픽으로 옮김 (발행 실패 시 예외가 전파되어 오프셋을 커밋하지 않음)
+            log.error("메시지 처리 중 오류 발생, 재시도 토픽으로 보냅니다 - Room: {}, Temp ID: {}",
+                    messageDto.getRoomId(), messageDto.getTempId(), e);
+            retryService.forward(messageDto, streamId, e);
+        }
+    }
+
+    /**
+     * 재시도 토픽의 메시지를 다시 처리합니다. (배치/레코드 리스너 설정과 무관하게 항상 동작)
+     * 실패 시 예외를 그대로 던지면 retryKafkaListenerContainerFactory 의 오류 처리기가
+     * 지수 백오프로 재처리하고, 시도 횟수를 소진하면 DLT 로 보냅니다.
+     */
+    @KafkaListener(
+            id = "chatMessageRetryListener",
+            topics = "${kafka.topic.chat-retry:chat-messages.retry}",
+            groupId = "${spring.kafka.consumer.group-id:chat-group}",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void consumeRetry(ConsumerRecord<String, ChatMessageDto> record) {
+        ChatMessageDto messageDto = record.value();
+        retryService.recordAttempt();
+        log.info("메시지 재시도 - Room: {}, Temp ID: {}", messageDto.getRoomId(), messageDto.getTempId());
+
+        deliver(messageDto, ChatMessageRetryService.originStreamIdOf(record));
+
+        retryService.recordRecovered();
+    }
+
+    /**
+     * 메시지를 데이터베이스에 저장한 뒤 WebSocket으로 브로드캐스트합니다.
+     * 이미 저장된 메시지(재전달)는 저장과 브로드캐스트를 모두 건너뜁니다.
+     * 저장 실패 시 예외를 그대로 던지며, 저장 이후 단계의 실패는 재시도하지 않습니다.
+     */
+    private void deliver(ChatMessageDto messageDto, String streamId) {
+        Long existingId = chatService.findPersistedMessageId(messageDto);
+        if (existingId != null) {
+            messageDto.setMessageId(existingId);
+            log.info("이미 저장된 메시지 재전달, 건너뜁니다 - Room: {}, Temp ID: {}, Message ID: {}",
+                    messageDto.getRoomId(), messageDto.getTempId(), existingId);
+            return;
+        }
+
+        // 1. 데이터베이스에 메시지 저장
+        Long messageId = chatService.saveMessageToDatabase(messageDto, streamId);
+
+        try {
+            unreadCounterService.incrementForMessages(List.of(messageDto));
 
             // 2. WebSocket으로 브로드캐스트
-            String destination = "/topic/chat/room/" + messageDto.getRoomId();
-            messagingTemplate.convertAndSend(destination, messageDto);
-            
-            log.info("WebSocket 브로드캐스트 완료 - Destination: {}", destination);
-            
+            broadcast(messageDto);
+        } catch (Exception e) {
+            log.error("메시지 브로드캐스트 중 오류 발생 - Room: {}, Message ID: {}",
+                    messageDto.getRoomId(), messageId, e);
+        }
+    }
+
+    /**
+     * Kafka poll 단위로 메시지를 수신하여 일괄 저장 후 WebSocket으로 브로드캐스트합니다.
+     * app.kafka.consumer.batch-listener 가 true 일 때 동작하는 배치 리스너
+     */
+    @KafkaListener(
+            id = "chatMessageBatchListener",
+            topics = "${kafka.topic.chat:chat-messages}",
+            groupId = "${spring.kafka.consumer.group-id:chat-group}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${app.kafka.consumer.batch-listener:false}"
+    )
+    public void consumeBatch(List<ConsumerRecord<String, ChatMessageDto>> records) {
+        long start = System.nanoTime();
+        log.info("Kafka 메시지 배치 수신 - Count: {}", records.size());
+
+        // 역직렬화에 실패한 레코드(값이 null)가 있으면 그 앞까지만 처리하고, 해당 레코드를 오류 처리기에 넘겨
+        // DLT 로 보낸 뒤 나머지는 다시 전달받음
+        int undecodable = indexOfUndecodable(records);
+        if (undecodable >= 0) {
+            ConsumerRecord<String, ChatMessageDto> failed = records.get(undecodable);
+            if (undecodable > 0) {
+                processLanes(records.subList(0, undecodable));
+            }
+            throw new BatchListenerFailedException("메시지 역직렬화 실패 - " + streamIdOf(failed),
+                    deserializationExceptionOf(failed), failed);
+        }
+
+        processLanes(records);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Kafka 메시지 배치 처리 완료 - Count: {}, Elapsed: {}ms", records.size(), elapsedMs);
+    }
+
+    private void processLanes(List<ConsumerRecord<String, ChatMessageDto>> records) {
+        if (roomLaneExecutor.isEnabled()) {
+            // 채팅방 레인별로 나누어 병렬 처리 (같은 채팅방은 같은 레인에서 순서대로 처리)
+            roomLaneExecutor.executeByRoom(records, record -> record.value().getRoomId(), this::processBatch);
+        } else {
+            processBatch(records);
+        }
+    }
+
+    private static int indexOfUndecodable(List<ConsumerRecord<String, ChatMessageDto>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).value() == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Exception deserializationExceptionOf(ConsumerRecord<String, ChatMessageDto> record) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        return exception != null ? exception : new IllegalArgumentException("메시지 값이 비어 있습니다");
+    }
+
+    /**
+     * 메시지 묶음을 일괄 저장한 뒤 WebSocket으로 브로드캐스트합니다.
+     */
+    private void processBatch(List<ConsumerRecord<String, ChatMessageDto>> records) {
+        List<ChatMessageDto> messageDtos = new ArrayList<>(records.size());
+        List<String> streamIds = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, ChatMessageDto> record : records) {
+            messageDtos.add(prepare(record));
+            streamIds.add(streamIdOf(record));
+        }
+
+        ChatService.BatchSaveResult result;
+        try {
+            result = chatService.saveMessagesToDatabase(messageDtos, streamIds);
+        } catch (Exception e) {
+            // 일괄 저장 실패(유니크 인덱스 위반 포함) 시 레코드 단위로 재처리하여
+            // 정상 메시지는 유실되지 않고 중복 메시지는 DB 확인 후 건너뛰도록 함
+            log.error("메시지 일괄 저장 중 오류 발생, 레코드 단위로 재처리합니다 - Count: {}", records.size(), e);
+            records.forEach(this::consume);
+            return;
+        }
+
+        // 레코드 단위 처리와 마찬가지로 재시도할 수 없는 메시지는 DLT 로 보냄
+        // 저장이 이미 커밋되었으므로 적재 실패는 배치를 다시 전달받지 않고 메시지 내용과 함께 로그로 남김
+        for (ChatService.RejectedMessage rejected : result.rejected()) {
+            ChatMessageDto message = rejected.message();
+            log.warn("메시지 일괄 저장 거부, DLT 로 보냅니다 - Room: {}, Sender: {}, Temp ID: {}, Reason: {}",
+                    message.getRoomId(), message.getSenderId(), message.getTempId(), rejected.cause().getMessage());
+            try {
+                deadLetterService.publish(message, rejected.cause(), 1);
+            } catch (Exception e) {
+                log.error("거부된 메시지 DLT 적재 실패 - Message: {}", message, e);
+            }
+        }
+
+        // 저장이 커밋된 뒤의 작업은 실패해도 배치를 다시 전달받지 않도록 로그만 남김
+        // (재전달 시 이미 저장된 메시지는 중복으로 건너뛰어 브로드캐스트되지 않음)
+        List<ChatMessageDto> saved = result.saved();
+        try {
+            unreadCounterService.incrementForMessages(saved);
         } catch (Exception e) {
-            log.error("메시지 처리 중 오류 발생", e);
+            log.error("읽지 않은 메시지 카운터 증가 중 오류 발생 - Count: {}", saved.size(), e);
         }
+
+        for (ChatMessageDto messageDto : saved) {
+            try {
+                broadcast(messageDto);
+            } catch (Exception e) {
+                log.error("메시지 브로드캐스트 중 오류 발생 - Room: {}, Message ID: {}",
+                        messageDto.getRoomId(), messageDto.getMessageId(), e);
+            }
+        }
+    }
+
+    /**
+     * 임시 메시지 ID가 없는 메시지(이전 버전 발행분)는 Kafka 좌표로 대신하여 중복 저장 방지 키를 채웁니다.
+     */
+    private ChatMessageDto prepare(ConsumerRecord<String, ChatMessageDto> record) {
+        ChatMessageDto messageDto = record.value();
+        if (messageDto.getTempId() == null || messageDto.getTempId().isBlank()) {
+            messageDto.setTempId("kafka-" + record.partition() + "-" + record.offset());
+        }
+        return messageDto;
+    }
+
+    private String streamIdOf(ConsumerRecord<String, ChatMessageDto> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    private void broadcast(ChatMessageDto messageDto) {
+        String destination = "/topic/chat/room/" + messageDto.getRoomId();
+        chatBroadcaster.broadcast(messageDto.getRoomId(), destination, messageDto);
+
+        log.info("WebSocket 브로드캐스트 완료 - Destination: {}", destination);
     }
 }
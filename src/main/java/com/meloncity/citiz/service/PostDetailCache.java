@@ -0,0 +1,218 @@
+package com.meloncity.citiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세 조회 결과 캐시 (로컬 LRU + 선택적 Redis 2단계)
+ *
+ * 상대 시간("n분 전")처럼 조회 시점에 따라 달라지는 값은 캐시하지 않고 원본 값을 보관하며,
+ * 응답 DTO 는 조회할 때마다 스냅샷에서 새로 만듭니다.
+ * 게시글/댓글 변경 시 트랜잭션 커밋 이후에 무효화하여 커밋 전 데이터가 다시 캐시되지 않도록 합니다.
+ * 조회 중에 무효화가 일어나면 읽어 둔 값이 오래된 것일 수 있으므로, 게시글별 무효화 버전을 조회 전후로 비교하여
+ * 바뀐 경우 캐시에 넣지 않습니다. (로컬은 게시글 ID 로 나눈 버전 슬롯, Redis 는 게시글별 버전 키로 확인)
+ * 다른 인스턴스의 로컬 캐시는 TTL 이 지나면 갱신됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostDetailCache {
+
+    private static final String REDIS_KEY_PREFIX = "post:detail:v2:";
+    private static final String REDIS_VERSION_KEY_PREFIX = "post:detail:version:";
+    private static final int VERSION_SLOTS = 1024;
+
+    // 무효화 버전이 조회 전과 같을 때만 저장
+    // KEYS[1]: 스냅샷 키, KEYS[2]: 버전 키 / ARGV: 조회 전 버전, 스냅샷 JSON, TTL(초)
+    private static final RedisScript<Long> SET_IF_VERSION_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+              return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            local version = redis.call('INCR', KEYS[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.post.detail-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.post.detail-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${app.post.detail-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.post.detail-cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${app.post.detail-cache.redis.ttl-seconds:600}")
+    private long redisTtlSeconds;
+
+    private final Map<Long, CachedSnapshot> localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSnapshot> eldest) {
+            return size() > maxSize;
+        }
+    });
+
+    /**
+     * 게시글 상세 스냅샷
+     */
+    public record Snapshot(
+            Long postId,
+            Long profileId,
+            String profileName,
+            String profileImg,
+            String title,
+            String content,
+            LocalDateTime createDate,
+            List<String> images,
+            List<String> originalImages,
+            List<String> tags,
+            List<CommentSnapshot> comments
+    ) {}
+
+    public record CommentSnapshot(Long id, Long profileId, String author, String avatar, String content) {}
+
+    private record CachedSnapshot(Snapshot snapshot, long loadedAtMillis) {}
+
+    // 게시글 ID 로 나눈 로컬 무효화 버전 (같은 슬롯의 다른 게시글 무효화는 저장을 한 번 건너뛰게 할 뿐임)
+    private final AtomicLongArray invalidations = new AtomicLongArray(VERSION_SLOTS);
+
+    /**
+     * 로컬 캐시 -> Redis -> loader 순으로 조회하고, 하위 단계에서 읽은 값은 상위 캐시에 채웁니다.
+     * 조회하는 동안 해당 게시글이 무효화되었으면 읽은 값은 반환만 하고 캐시에 넣지 않습니다.
+     *
+     * @param postId 게시글 ID
+     * @param loader 캐시 미스 시 DB 조회 함수
+     * @return 게시글 상세 스냅샷
+     */
+    public Snapshot get(Long postId, Function<Long, Snapshot> loader) {
+        if (!enabled) {
+            return loader.apply(postId);
+        }
+
+        CachedSnapshot cached = localCache.get(postId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis() < ttlSeconds * 1000) {
+            return cached.snapshot();
+        }
+
+        int slot = slotOf(postId);
+        long version = invalidations.get(slot);
+
+        Snapshot snapshot = redisEnabled ? readRedis(postId) : null;
+        if (snapshot == null) {
+            String redisVersion = redisEnabled ? readRedisVersion(postId) : null;
+            snapshot = loader.apply(postId);
+            writeRedis(postId, snapshot, redisVersion);
+        }
+
+        if (version == invalidations.get(slot)) {
+            localCache.put(postId, new CachedSnapshot(snapshot, System.currentTimeMillis()));
+        } else {
+            log.debug("조회 중 무효화된 게시글 상세는 캐시하지 않음 - Post: {}", postId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 게시글 상세 캐시를 무효화합니다. 트랜잭션이 없으면 즉시 무효화합니다.
+     *
+     * @param postId 게시글 ID
+     */
+    public void evictAfterCommit(Long postId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(postId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(postId);
+            }
+        });
+    }
+
+    private void evict(Long postId) {
+        invalidations.incrementAndGet(slotOf(postId));
+        localCache.remove(postId);
+        if (redisEnabled) {
+            try {
+                stringRedisTemplate.execute(EVICT_SCRIPT,
+                        List.of(REDIS_KEY_PREFIX + postId, REDIS_VERSION_KEY_PREFIX + postId),
+                        String.valueOf(redisTtlSeconds));
+            } catch (Exception e) {
+                log.error("게시글 상세 캐시 Redis 무효화 실패 - Post: {}", postId, e);
+            }
+        }
+    }
+
+    private static int slotOf(Long postId) {
+        return (int) Math.floorMod(postId, (long) VERSION_SLOTS);
+    }
+
+    private Snapshot readRedis(Long postId) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(REDIS_KEY_PREFIX + postId);
+            return json != null ? objectMapper.readValue(json, Snapshot.class) : null;
+        } catch (Exception e) {
+            // Redis 장애나 형식 변경 시 DB 조회로 대체
+            log.warn("게시글 상세 캐시 Redis 조회 실패 - Post: {}, Error: {}", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    private String readRedisVersion(Long postId) {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(REDIS_VERSION_KEY_PREFIX + postId);
+            return version != null ? version : "0";
+        } catch (Exception e) {
+            log.warn("게시글 상세 캐시 Redis 버전 조회 실패 - Post: {}, Error: {}", postId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 조회 전에 읽은 버전이 그대로일 때만 Redis 에 저장합니다. (다른 인스턴스의 무효화 포함)
+     */
+    private void writeRedis(Long postId, Snapshot snapshot, String version) {
+        if (!redisEnabled || version == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(SET_IF_VERSION_SCRIPT,
+                    List.of(REDIS_KEY_PREFIX + postId, REDIS_VERSION_KEY_PREFIX + postId),
+                    version, objectMapper.writeValueAsString(snapshot), String.valueOf(redisTtlSeconds));
+        } catch (Exception e) {
+            log.warn("게시글 상세 캐시 Redis 저장 실패 - Post: {}, Error: {}", postId, e.getMessage());
+        }
+    }
+}
@@ -2,19 +2,27 @@ package com.meloncity.citiz.service;
 
 import com.meloncity.citiz.domain.*;
 import com.meloncity.citiz.dto.CommentResDto;
+import com.meloncity.citiz.dto.CursorPageRes;
 import com.meloncity.citiz.dto.CustomUserDetails;
+import com.meloncity.citiz.dto.PostFeedItemDto;
 import com.meloncity.citiz.dto.PostReqDto;
 import com.meloncity.citiz.dto.PostRespDto;
 import com.meloncity.citiz.handler.exception.ResourceNotFoundException;
+import com.meloncity.citiz.repository.CommentRepository;
 import com.meloncity.citiz.repository.PostRepository;
 import com.meloncity.citiz.repository.PostTagRepository;
 import com.meloncity.citiz.repository.ProfileRepository;
+import com.meloncity.citiz.repository.TagRepository;
+import com.meloncity.citiz.util.CursorUtil;
 import com.meloncity.citiz.util.TimeAgoUtil;
-import com.meloncity.citiz.util.file.FileStorageService;
+import com.meloncity.citiz.util.file.ImageDerivativeService;
+import com.meloncity.citiz.util.file.StagedFile;
+import com.meloncity.citiz.util.file.StagedFileUploader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.util.*;
@@ -28,32 +36,55 @@ public class PostService {
     private final PostRepository postRepository;
     private final ProfileRepository profileRepository;
     private final PostTagRepository postTagRepository;
+    private final CommentRepository commentRepository;
     private final TagService tagService;
-    private final FileStorageService fileStorageService;
+    private final TagRepository tagRepository;
+    private final StagedFileUploader stagedFileUploader;
+    private final TransactionTemplate transactionTemplate;
+    private final PostDetailCache postDetailCache;
+    private final ImageDerivativeService imageDerivativeService;
 
+    /**
+     * 게시글 저장
+     * 이미지는 트랜잭션 시작 전에 임시 영역에 병렬로 기록하여 업로드 중에 DB 커넥션을 잡지 않으며,
+     * DB 저장이 커밋되면 확정, 실패하면 폐기합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void savePost(PostReqDto postReqDto) throws IOException {
 
-        Optional<Profile> optional = profileRepository.findById(postReqDto.getProfileId());
-        Profile profile = optional.orElseThrow(() -> new ResourceNotFoundException("Profile", "Id", postReqDto.getProfileId()));
+        // 게시물 파일 임시 저장 (트랜잭션 밖)
+        List<StagedFile> stagedFiles = stagedFileUploader.stageAll(postReqDto.getImages());
 
-        Post post = new Post(postReqDto.getTitle(), postReqDto.getContent(), profile);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 커밋 시 파일 확정, 롤백 시 폐기
+                stagedFileUploader.commitOnTransactionEnd(stagedFiles);
 
-        // 게시물 파일 저장
-        if(postReqDto.getImages() != null){
-            for(MultipartFile file : postReqDto.getImages()){
-                String fileDir = fileStorageService.upload(file);
-                post.addPhoto(new PostPhoto(fileDir));
-            }
-        }
+                Optional<Profile> optional = profileRepository.findById(postReqDto.getProfileId());
+                Profile profile = optional.orElseThrow(() -> new ResourceNotFoundException("Profile", "Id", postReqDto.getProfileId()));
 
-        // 태그 저장
-        for (String tagName : postReqDto.getTagIds()) {
-            Tag tag = tagService.findOrCreate(tagName);
-            PostTag postTag = new PostTag(post, tag);
-            post.addTag(postTag);
-        }
+                Post post = new Post(postReqDto.getTitle(), postReqDto.getContent(), profile);
+
+                for(StagedFile stagedFile : stagedFiles){
+                    post.addPhoto(new PostPhoto(stagedFile.url()));
+                }
+
+                // 태그 저장 (태그 목록을 한 번에 조회/생성)
+                for (Tag tag : tagService.resolveAll(postReqDto.getTagIds()).values()) {
+                    PostTag postTag = new PostTag(post, tag);
+                    post.addTag(postTag);
+                }
 
-        postRepository.save(post);
+                postRepository.save(post);
+
+                // 커밋 이후 별도 스레드에서 축소본 생성
+                imageDerivativeService.generateAfterCommit(post);
+            });
+        } catch (RuntimeException e) {
+            // 트랜잭션을 시작하지 못한 경우에도 임시 파일이 남지 않도록 폐기 (이미 폐기된 파일은 무시)
+            stagedFileUploader.discardAll(stagedFiles);
+            throw e;
+        }
     }
 
     public String updatePost(Long id, PostReqDto postReqDto, CustomUserDetails user){
@@ -85,14 +116,14 @@ public class PostService {
                     .filter(tagName -> !currentTagNames.contains(tagName))
                     .collect(Collectors.toSet());
 
-            // 태그 변경
-            for (String tagName : toAdd) {
-                Tag tag = tagService.findOrCreate(tagName);
+            // 태그 변경 (추가할 태그를 한 번에 조회/생성)
+            for (Tag tag : tagService.resolveAll(toAdd).values()) {
                 PostTag postTag = new PostTag(post, tag);
                 post.addTag(postTag);
             }
 
             postRepository.save(post);
+            postDetailCache.evictAfterCommit(id);
         }
 
         return result;
@@ -106,57 +137,165 @@ public class PostService {
         if(!post.getCreatedBy().getId().equals(user.getId())){
             result = "PERMISSION DENIED";
         }else{
-            //게시물 파일 삭제
-            List<PostPhoto> photos = post.getPhotos();
-            for(PostPhoto postPhoto: photos){
-                fileStorageService.delete(postPhoto.getImgUrl());
+            //게시물 파일 삭제 (롤백 시 파일이 사라지지 않도록 커밋 이후 삭제, 축소본 포함)
+            List<String> imgUrls = new ArrayList<>();
+            for(PostPhoto postPhoto: post.getPhotos()){
+                imgUrls.addAll(ImageDerivativeService.allUrls(postPhoto));
             }
+            stagedFileUploader.deleteOnCommit(imgUrls);
 
             postRepository.delete(post);
+            postDetailCache.evictAfterCommit(id);
         }
 
         return result;
     }
+    /**
+     * 게시글 상세 조회
+     * 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션을 사용하지 않으며,
+     * 캐시 미스 시에는 게시글 수와 무관하게 고정된 쿼리(게시글+작성자, 사진, 태그, 댓글+작성자)로 조회합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PostRespDto getPost(Long id){
-        Post post = postRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        PostDetailCache.Snapshot snapshot = postDetailCache.get(id, this::loadPostDetail);
+
         PostRespDto postRespDto = new PostRespDto();
-        postRespDto.setProfileId(post.getCreatedBy().getId());
-        postRespDto.setProfileName(post.getCreatedBy().getName());
-        postRespDto.setProfileImg(post.getCreatedBy().getImageUrl());
-        postRespDto.setPostId(post.getId());
-        postRespDto.setTitle(post.getTitle());
-        postRespDto.setContent(post.getContent());
+        postRespDto.setProfileId(snapshot.profileId());
+        postRespDto.setProfileName(snapshot.profileName());
+        postRespDto.setProfileImg(snapshot.profileImg());
+        postRespDto.setPostId(snapshot.postId());
+        postRespDto.setTitle(snapshot.title());
+        postRespDto.setContent(snapshot.content());
 
-        // 생성된 시간
-        postRespDto.setCreatedAt(TimeAgoUtil.formatTime(post.getCreateDate()));
+        // 생성된 시간 (조회 시점 기준 상대 시간이므로 캐시하지 않음)
+        postRespDto.setCreatedAt(TimeAgoUtil.formatTime(snapshot.createDate()));
 
         // 사진
-        List<String> images = new ArrayList<>();
-        for(PostPhoto postPhoto : post.getPhotos()){
-            images.add(postPhoto.getImgUrl());
-        }
-        postRespDto.setImages(images);
+        postRespDto.setImages(new ArrayList<>(snapshot.images()));
+        postRespDto.setOriginalImages(new ArrayList<>(snapshot.originalImages()));
 
         // 태그
-        List<String> tags = new ArrayList<>();
-        for(PostTag postTag : post.getPostTags()){
-            tags.add(postTag.getTag().getTag());
-        }
-        postRespDto.setTags(tags);
+        postRespDto.setTags(new ArrayList<>(snapshot.tags()));
 
         // 댓글
         List<CommentResDto> comments = new ArrayList<>();
-        for(Comment comment : post.getComments()){
-            CommentResDto commentDto = new CommentResDto(comment.getCreatedBy(), comment);
-            comments.add(commentDto);
+        for(PostDetailCache.CommentSnapshot comment : snapshot.comments()){
+            comments.add(new CommentResDto(comment.id(), comment.profileId(), comment.author(), comment.avatar(), comment.content()));
         }
         postRespDto.setComments(comments);
+        postRespDto.setCommentCount(comments.size());
 
         return postRespDto;
     }
 
-    public List<Post> getPostAll(){
+    private PostDetailCache.Snapshot loadPostDetail(Long id){
+        Post post = postRepository.findDetailById(id).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        Profile author = post.getCreatedBy();
+
+        List<PostDetailCache.CommentSnapshot> comments = new ArrayList<>();
+        for(Comment comment : commentRepository.findAllWithAuthorByPostId(id)){
+            Profile commenter = comment.getCreatedBy();
+            comments.add(new PostDetailCache.CommentSnapshot(
+                    comment.getId(), commenter.getId(), commenter.getName(), commenter.getImageUrl(), comment.getContent()));
+        }
+
+        List<String> images = new ArrayList<>();
+        List<String> originalImages = new ArrayList<>();
+        for(Object[] row : postRepository.findImageUrlsByPostId(id)){
+            images.add((String) row[0]);
+            originalImages.add((String) row[1]);
+        }
+
+        return new PostDetailCache.Snapshot(
+                post.getId(),
+                author.getId(),
+                author.getName(),
+                author.getImageUrl(),
+                post.getTitle(),
+                post.getContent(),
+                post.getCreateDate(),
+                List.copyOf(images),
+                List.copyOf(originalImages),
+                List.copyOf(postTagRepository.findTagNamesByPostId(id)),
+                List.copyOf(comments));
+    }
+
+    /**
+     * 게시글 피드를 (생성일시, ID) 커서 기반으로 조회합니다.
+     * 엔티티 대신 프로젝션으로 한 페이지만 조회하고, 태그/대표 사진/댓글 수는 페이지 단위 IN 쿼리로 한 번씩 가져오므로
+     * 요청당 메모리와 쿼리 수가 테이블 크기와 무관합니다.
+     *
+     * @param cursor 이전 응답의 nextCursor (nullable)
+     * @param tagName 태그 필터 (nullable)
+     * @param limit 조회할 개수
+     * @return 피드 목록과 다음 페이지 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPageRes<PostFeedItemDto> getPostFeed(String cursor, String tagName, int limit){
+        CursorUtil.Cursor position = (cursor != null && !cursor.isBlank()) ? CursorUtil.decode(cursor) : null;
+
+        List<PostRepository.FeedRow> rows;
+        if(tagName != null && !tagName.isBlank()){
+            Long tagId = tagRepository.findByTag(tagName.trim()).map(Tag::getId).orElse(null);
+            if(tagId == null){
+                return new CursorPageRes<>(List.of(), null, false);
+            }
+            // 다음 페이지 존재 여부 확인을 위해 limit + 1 개 조회
+            rows = position == null
+                    ? postRepository.findFeedByTag(tagId, limit + 1)
+                    : postRepository.findFeedByTagBefore(tagId, position.createDate(), position.id(), limit + 1);
+        }else{
+            rows = position == null
+                    ? postRepository.findFeed(limit + 1)
+                    : postRepository.findFeedBefore(position.createDate(), position.id(), limit + 1);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        if(hasNext){
+            rows = rows.subList(0, limit);
+        }
+        if(rows.isEmpty()){
+            return new CursorPageRes<>(List.of(), null, false);
+        }
+
+        List<Long> postIds = rows.stream().map(PostRepository.FeedRow::getPostId).toList();
+
+        Map<Long, List<String>> tagsByPost = new HashMap<>();
+        for(Object[] row : postTagRepository.findTagNamesByPostIds(postIds)){
+            tagsByPost.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        Map<Long, String> thumbnails = new HashMap<>();
+        for(Object[] row : postRepository.findThumbnailsByPostIds(postIds)){
+            thumbnails.put((Long) row[0], (String) row[1]);
+        }
+
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for(Object[] row : commentRepository.countByPostIds(postIds)){
+            commentCounts.put((Long) row[0], (Long) row[1]);
+        }
+
+        List<PostFeedItemDto> content = new ArrayList<>(rows.size());
+        for(PostRepository.FeedRow row : rows){
+            content.add(new PostFeedItemDto(
+                    row.getPostId(),
+                    row.getTitle(),
+                    row.getContentPreview(),
+                    TimeAgoUtil.formatTime(row.getCreateDate()),
+                    row.getProfileId(),
+                    row.getProfileName(),
+                    row.getProfileImg(),
+                    thumbnails.get(row.getPostId()),
+                    tagsByPost.getOrDefault(row.getPostId(), List.of()),
+                    commentCounts.getOrDefault(row.getPostId(), 0L)));
+        }
+
+        String nextCursor = null;
+        if(hasNext){
+            PostRepository.FeedRow last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreateDate(), last.getPostId());
+        }
 
-        return postRepository.findAll();
+        return new CursorPageRes<>(content, nextCursor, hasNext);
     }
 }
@@ -7,24 +7,24 @@ import com.meloncity.citiz.dto.ProfileSignUpReq;
 import com.meloncity.citiz.handler.exception.CustomApiException;
 import com.meloncity.citiz.handler.exception.ResourceNotFoundException;
 import com.meloncity.citiz.repository.ProfileRepository;
-import com.meloncity.citiz.util.file.FileStorageService;
+import com.meloncity.citiz.util.file.StagedFile;
+import com.meloncity.citiz.util.file.StagedFileUploader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -34,35 +34,49 @@ public class ProfileService {
 
     private final ProfileRepository profileRepository;
     private final PasswordEncoder passwordEncoder;
-    private final FileStorageService fileStorageService;
-
-    @Transactional
+    private final StagedFileUploader stagedFileUploader;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 회원가입
+     * 프로필 이미지는 트랜잭션 시작 전에 임시 영역에 기록하고, 저장이 커밋되면 확정, 실패하면 폐기합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String signUp(ProfileSignUpReq req) {
 
         if (profileRepository.existsByEmail(req.getEmail())) {
             throw new CustomApiException(HttpStatus.CONFLICT, "email already exists");
         }
 
-        String fileDir = null;
-        MultipartFile file = req.getProfileImage();
-        if (file != null && !file.isEmpty()) {
-            try {
-                fileDir = fileStorageService.upload(file);
-            } catch (IOException e) {
-                throw new CustomApiException(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 업로드 실패");
-            }
+        List<StagedFile> stagedFiles;
+        try {
+            stagedFiles = stagedFileUploader.stageAll(Collections.singletonList(req.getProfileImage()));
+        } catch (IOException e) {
+            throw new CustomApiException(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 업로드 실패");
+        }
+        String fileDir = stagedFiles.isEmpty() ? null : stagedFiles.get(0).url();
+
+        try {
+            return transactionTemplate.execute(status -> {
+                // 커밋 시 파일 확정, 롤백 시 폐기
+                stagedFileUploader.commitOnTransactionEnd(stagedFiles);
+
+                Profile profile = Profile.builder()
+                        .email(req.getEmail())
+                        .password(passwordEncoder.encode(req.getPassword()))
+                        .name(req.getName())
+                        .imageUrl(fileDir)
+                        .build();
+
+                profileRepository.save(profile);
+
+                return profile.getName();
+            });
+        } catch (RuntimeException e) {
+            // 트랜잭션을 시작하지 못한 경우에도 임시 파일이 남지 않도록 폐기 (이미 폐기된 파일은 무시)
+            stagedFileUploader.discardAll(stagedFiles);
+            throw e;
         }
-
-        Profile profile = Profile.builder()
-                .email(req.getEmail())
-                .password(passwordEncoder.encode(req.getPassword()))
-                .name(req.getName())
-                .imageUrl(fileDir)
-                .build();
-
-        profileRepository.save(profile);
-
-        return profile.getName();
     }
 
     public Profile findById(Long id) {
@@ -87,21 +101,75 @@ public class ProfileService {
         return new AuthResult(user.getId(), user.getName(), user.getEmail(), user.getImageUrl(), java.util.List.of("ROLE_USER"));
     }
 
-    public PageRes<ProfileRes> searchProfile(String email, String name, int page, int size, Sort sort) {
-        Pageable pageable = PageRequest.of(page, size, sort);
+    /**
+     * 프로필 검색 (이름/이메일 부분 일치, 관련도 순)
+     * pg_trgm GIN 인덱스로 부분 일치를 조회하며, 다음 페이지 여부는 size + 1 개 조회로 판단하므로
+     * 전체 개수가 필요할 때(withTotal)만 count 쿼리를 실행합니다.
+     *
+     * @param email 이메일 검색어 (nullable)
+     * @param name 이름 검색어 (nullable)
+     * @param page 페이지 번호 (0부터)
+     * @param size 페이지 크기
+     * @param withTotal 전체 개수/페이지 수 포함 여부
+     * @return 검색 결과 (withTotal 이 false 이면 totalElements/totalPages 는 null)
+     */
+    public PageRes<ProfileRes> searchProfile(String email, String name, int page, int size, boolean withTotal) {
+        String nameQuery = normalize(name);
+        String emailQuery = normalize(email);
+        if (nameQuery == null && emailQuery == null) {
+            return new PageRes<>(List.of(), page, size, withTotal ? 0L : null, withTotal ? 0 : null, false);
+        }
+
+        long offset = (long) page * size;
+        List<Profile> rows;
+        Long total = null;
+        if (nameQuery != null && emailQuery != null) {
+            rows = profileRepository.searchByNameAndEmail(
+                    nameQuery, containsPattern(nameQuery), prefixPattern(nameQuery),
+                    emailQuery, containsPattern(emailQuery), prefixPattern(emailQuery),
+                    size + 1, offset);
+            if (withTotal) {
+                total = profileRepository.countByNameAndEmailPattern(containsPattern(nameQuery), containsPattern(emailQuery));
+            }
+        } else if (nameQuery != null) {
+            rows = profileRepository.searchByName(nameQuery, containsPattern(nameQuery), prefixPattern(nameQuery), size + 1, offset);
+            if (withTotal) {
+                total = profileRepository.countByNamePattern(containsPattern(nameQuery));
+            }
+        } else {
+            rows = profileRepository.searchByEmail(emailQuery, containsPattern(emailQuery), prefixPattern(emailQuery), size + 1, offset);
+            if (withTotal) {
+                total = profileRepository.countByEmailPattern(containsPattern(emailQuery));
+            }
+        }
 
-        Page<Profile> result = null;
-        if (name != null && !name.isBlank() && email != null && !email.isBlank()) {
-            result = profileRepository.findByNameContainingIgnoreCaseAndEmailContainingIgnoreCase(name, email, pageable);
-        } else if (name != null && !name.isBlank()) {
-            result = profileRepository.findByNameContainingIgnoreCase(name, pageable);
-        } else if (email != null && !email.isBlank()) {
-            result = profileRepository.findByEmailContainingIgnoreCase(email, pageable);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
         }
 
-        List<ProfileRes> content = result.map(this::toRes).getContent();
-        return new PageRes<>(content, result.getNumber(), result.getSize(),
-                result.getTotalElements(), result.getTotalPages(), result.hasNext());
+        List<ProfileRes> content = rows.stream().map(this::toRes).toList();
+        Integer totalPages = total == null ? null : (int) ((total + size - 1) / size);
+        return new PageRes<>(content, page, size, total, totalPages, hasNext);
+    }
+
+    private static String normalize(String query) {
+        return (query == null || query.isBlank()) ? null : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String containsPattern(String query) {
+        return "%" + escapeLike(query) + "%";
+    }
+
+    private static String prefixPattern(String query) {
+        return escapeLike(query) + "%";
+    }
+
+    /**
+     * LIKE 특수문자(%, _)와 백슬래시를 문자 그대로 검색되도록 이스케이프 (PostgreSQL LIKE 의 기본 이스케이프 문자는 백슬래시)
+     */
+    private static String escapeLike(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     private ProfileRes toRes(Profile p) {
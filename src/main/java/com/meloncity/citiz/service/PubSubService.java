@@ -1,10 +1,12 @@
 package com.meloncity.citiz.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meloncity.citiz.config.redis.RedisPubSubConfig.PubSubChannels;
 import com.meloncity.citiz.dto.ParticipantNotificationDto;
+import com.meloncity.citiz.service.broadcast.ChatBroadcaster;
+import com.meloncity.citiz.util.codec.ChatPayloadCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
@@ -12,6 +14,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 /**
@@ -25,8 +28,9 @@ public class PubSubService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
     private final RedisMessageListenerContainer redisMessageListener;
-    private final ObjectMapper objectMapper;
+    private final ChatPayloadCodec chatPayloadCodec;
 
     private final PubSubChannels pubSubChannels;
 
@@ -37,20 +41,14 @@ public class PubSubService {
     @PostConstruct
     public void initializeSubscriptions() {
         // 입장 알림 채널 구독
-        redisMessageListener.addMessageListener((message, pattern) -> {
-            Object rawMessage = redisTemplate.getValueSerializer().deserialize(message.getBody());
-            if (rawMessage != null) {
-                handleNotification(rawMessage.toString(), pubSubChannels.getJoinChannel());
-            }
-        }, new ChannelTopic(pubSubChannels.getJoinChannel()));
+        redisMessageListener.addMessageListener((message, pattern) ->
+                handleNotification(message.getBody(), pubSubChannels.getJoinChannel()),
+                new ChannelTopic(pubSubChannels.getJoinChannel()));
 
         // 퇴장 알림 채널 구독
-        redisMessageListener.addMessageListener((message, pattern) -> {
-            Object rawMessage = redisTemplate.getValueSerializer().deserialize(message.getBody());
-            if (rawMessage != null) {
-                handleNotification(rawMessage.toString(), pubSubChannels.getLeaveChannel());
-            }
-        }, new ChannelTopic(pubSubChannels.getLeaveChannel()));
+        redisMessageListener.addMessageListener((message, pattern) ->
+                handleNotification(message.getBody(), pubSubChannels.getLeaveChannel()),
+                new ChannelTopic(pubSubChannels.getLeaveChannel()));
 
 
         redisMessageListener.addMessageListener((message, pattern) -> {
@@ -113,7 +111,10 @@ public class PubSubService {
      */
     private void publishNotification(String channel, ParticipantNotificationDto notification) {
         try {
-            redisTemplate.convertAndSend(channel, notification);
+            // 알림은 코덱(binary/json)으로 인코딩하여 그대로 발행
+            byte[] rawChannel = channel.getBytes(StandardCharsets.UTF_8);
+            byte[] body = chatPayloadCodec.encodeNotification(notification);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(rawChannel, body));
             log.debug("알림 발행 완료 - Channel: {}, Type: {}, Room: {}",
                     channel, notification.getType(), notification.getRoomId());
         } catch (Exception e) {
@@ -124,14 +125,13 @@ public class PubSubService {
 
     /**
      * 알림 메시지를 처리하고 WebSocket으로 전달합니다. (JOIN/LEAVE 통합 처리)
-     * @param message JSON 형태의 알림 메시지
+     * @param message 코덱으로 인코딩된 알림 메시지 (binary 또는 JSON)
      * @param channel 수신된 채널
      */
-    private void handleNotification(String message, String channel) {
+    private void handleNotification(byte[] message, String channel) {
         try {
-            log.debug("Pub/Sub 메시지 수신 - Channel: {}, Message: {}", channel, message);
-            ParticipantNotificationDto notification = objectMapper.readValue(
-                    message, ParticipantNotificationDto.class);
+            ParticipantNotificationDto notification = chatPayloadCodec.decodeNotification(message);
+            log.debug("Pub/Sub 메시지 수신 - Channel: {}, Notification: {}", channel, notification);
 
             // WebSocket을 통해 채팅방 참여자들에게 알림 전달
             String destination = "/topic/chat/" + notification.getRoomId() + "/participants";
@@ -141,7 +141,7 @@ public class PubSubService {
                     notification.getType(), notification.getRoomId(), notification.getUserName());
 
         } catch (Exception e) {
-            log.error("알림 처리 중 오류 발생 - Channel: {}, Message: {}", channel, message, e);
+            log.error("알림 처리 중 오류 발생 - Channel: {}, Size: {} bytes", channel, message.length, e);
         }
     }
 
@@ -153,7 +153,7 @@ public class PubSubService {
     public void broadcastParticipantCount(Long roomId, int currentCount) {
         try {
             String destination = "/topic/chat/" + roomId + "/count";
-            messagingTemplate.convertAndSend(destination, currentCount);
+            chatBroadcaster.broadcast(roomId, destination, currentCount);
 
             log.debug("참여자 수 브로드캐스트 완료 - Room: {}, Count: {}", roomId, currentCount);
         } catch (Exception e) {
@@ -278,49 +278,6 @@ public class RedisService {
         }
     }
 
-    // ==================== 채팅방 온라인 사용자 관리 ====================
-
-    /**
-     * 채팅방에 온라인 사용자를 추가
-     * @param roomId 채팅방 ID
-     * @param userId 사용자 ID
-     */
-    public void addOnlineUser(Long roomId, Long userId) {
-        String key = "chat:room:" + roomId + ":online";
-        addToSet(key, userId.toString());
-        expire(key, Duration.ofMinutes(30)); // 30분 후 자동 만료
-    }
-
-    /**
-     * 채팅방에서 온라인 사용자를 제거
-     * @param roomId 채팅방 ID
-     * @param userId 사용자 ID
-     */
-    public void removeOnlineUser(Long roomId, Long userId) {
-        String key = "chat:room:" + roomId + ":online";
-        removeFromSet(key, userId.toString());
-    }
-
-    /**
-     * 채팅방의 온라인 사용자 수를 조회
-     * @param roomId 채팅방 ID
-     * @return 온라인 사용자 수
-     */
-    public Long getOnlineUserCount(Long roomId) {
-        String key = "chat:room:" + roomId + ":online";
-        return getSetSize(key);
-    }
-
-    /**
-     * 채팅방의 온라인 사용자 목록을 조회
-     * @param roomId 채팅방 ID
-     * @return 온라인 사용자 ID 목록
-     */
-    public Set<Object> getOnlineUsers(Long roomId) {
-        String key = "chat:room:" + roomId + ":online";
-        return getSetMembers(key);
-    }
-
     // ==================== 유틸리티 메서드 ====================
 
     /**
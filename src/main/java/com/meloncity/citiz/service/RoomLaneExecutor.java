@@ -0,0 +1,191 @@
+package com.meloncity.citiz.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 채팅방 단위 순서를 보장하는 레인(lane) 실행기
+ *
+ * roomId 해시로 작업을 단일 스레드 레인에 배정하므로 같은 채팅방의 작업은 항상 같은 레인에서 순서대로 실행되고,
+ * 서로 다른 채팅방의 작업은 여러 레인에서 병렬로 실행됩니다.
+ * app.kafka.consumer.lanes.enabled 가 false 이면 레인을 만들지 않으며 호출부에서 직접 처리합니다.
+ */
+@Component
+@Slf4j
+public class RoomLaneExecutor {
+
+    @Value("${app.kafka.consumer.lanes.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.kafka.consumer.lanes.count:4}")
+    private int laneCount;
+
+    @Value("${app.kafka.consumer.lanes.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    /**
+     * 레인별 처리 현황
+     * @param lane 레인 번호
+     * @param queueDepth 대기 중인 작업 수
+     * @param oldestWaitMs 가장 오래 대기 중인 작업의 대기 시간 (레인 처리 지연)
+     * @param completed 완료된 작업 수
+     * @param failed 실패한 작업 수
+     * @param avgProcessingMs 평균 처리 시간
+     */
+    public record LaneStats(int lane, int queueDepth, long oldestWaitMs, long completed, long failed, double avgProcessingMs) {}
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new Lane(i, queueCapacity));
+        }
+        log.info("채팅방 레인 실행기 초기화 - Lanes: {}, Queue Capacity: {}", laneCount, queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int laneOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), lanes.size());
+    }
+
+    /**
+     * 항목들을 채팅방 레인별로 나누어 병렬 처리하고 모든 레인이 끝날 때까지 기다립니다.
+     * 레인 안에서는 입력 순서가 유지되므로 같은 채팅방 메시지의 순서가 보장됩니다.
+     * 모든 처리가 끝난 뒤 반환하므로 호출부(리스너)가 반환한 이후에 오프셋이 커밋됩니다.
+     *
+     * @param items 처리할 항목 (입력 순서 유지)
+     * @param roomIdOf 항목의 채팅방 ID 추출 함수
+     * @param handler 레인별 항목 묶음 처리 함수
+     */
+    public <T> void executeByRoom(List<T> items, Function<T, Long> roomIdOf, Consumer<List<T>> handler) {
+        List<List<T>> groups = new ArrayList<>(lanes.size());
+        for (int i = 0; i < lanes.size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            groups.get(laneOf(roomIdOf.apply(item))).add(item);
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            List<T> group = groups.get(i);
+            if (!group.isEmpty()) {
+                futures.add(lanes.get(i).submit(() -> handler.accept(group)));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("레인 처리 대기 중 인터럽트 발생", e);
+            } catch (ExecutionException e) {
+                // 다른 레인의 처리가 끝날 때까지 기다린 뒤 첫 번째 실패를 전달
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public List<LaneStats> getStats() {
+        return lanes.stream().map(Lane::stats).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(Lane::shutdown);
+    }
+
+    /**
+     * 단일 스레드 레인
+     */
+    private static final class Lane {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final ConcurrentLinkedQueue<Long> enqueuedAt = new ConcurrentLinkedQueue<>();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalProcessingNanos = new AtomicLong();
+
+        private Lane(int index, int queueCapacity) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "room-lane-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        Future<?> submit(Runnable task) {
+            long submittedAt = System.currentTimeMillis();
+            enqueuedAt.add(submittedAt);
+            try {
+                return executor.submit(() -> {
+                    enqueuedAt.remove(submittedAt);
+                    long start = System.nanoTime();
+                    try {
+                        task.run();
+                        completed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        throw e;
+                    } finally {
+                        totalProcessingNanos.addAndGet(System.nanoTime() - start);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                enqueuedAt.remove(submittedAt);
+                throw e;
+            }
+        }
+
+        LaneStats stats() {
+            Long oldest = enqueuedAt.peek();
+            long done = completed.get() + failed.get();
+            return new LaneStats(
+                    index,
+                    executor.getQueue().size(),
+                    oldest != null ? System.currentTimeMillis() - oldest : 0L,
+                    completed.get(),
+                    failed.get(),
+                    done > 0 ? totalProcessingNanos.get() / 1_000_000.0 / done : 0.0);
+        }
+
+        void shutdown() {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -3,23 +3,114 @@ package com.meloncity.citiz.service;
 import com.meloncity.citiz.domain.Tag;
 import com.meloncity.citiz.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class TagService {
 
+    // tag.tag 컬럼 길이
+    private static final int MAX_TAG_LENGTH = 100;
+
     private final TagRepository tagRepository;
 
+    @Value("${app.tag.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // 자주 쓰이는 태그 이름 -> ID 캐시 (LRU, 커밋된 태그만 보관)
+    private final Map<String, Long> tagIdCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > cacheMaxSize;
+        }
+    });
+
     public Tag findOrCreate(String tagName) {
-        Tag tag = tagRepository.findByTag(tagName).orElse(null);
+        return resolveAll(List.of(tagName)).get(tagName);
+    }
+
+    /**
+     * 태그 이름 목록을 한 번에 태그 엔티티로 변환하며, 없는 태그는 생성합니다.
+     * 캐시에 있는 태그는 조회 없이 참조로 사용하고, 나머지는 IN 조회 한 번과 upsert 한 번으로 처리합니다.
+     *
+     * @param tagNames 태그 이름 목록 (빈 값과 중복은 제외)
+     * @return 태그 이름 -> 태그 (입력 순서 유지)
+     */
+    @Transactional
+    public Map<String, Tag> resolveAll(Collection<String> tagNames) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tagNames != null) {
+            for (String name : tagNames) {
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                if (name.length() > MAX_TAG_LENGTH) {
+                    throw new IllegalArgumentException("태그는 " + MAX_TAG_LENGTH + "자를 넘을 수 없습니다: " + name);
+                }
+                names.add(name);
+            }
+        }
 
-        if (tag != null) {
-            return tag;
+        Map<String, Tag> resolved = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            Long id = tagIdCache.get(name);
+            if (id != null) {
+                resolved.put(name, tagRepository.getReferenceById(id));
+            } else {
+                misses.add(name);
+            }
         }
 
-        Tag newTag = new Tag(tagName);
-        tagRepository.save(newTag);
-        return newTag;
+        if (!misses.isEmpty()) {
+            List<Tag> found = tagRepository.findAllByTagIn(misses);
+            found.forEach(tag -> resolved.put(tag.getTag(), tag));
+
+            if (found.size() < misses.size()) {
+                String[] missing = misses.stream().filter(name -> !resolved.containsKey(name)).toArray(String[]::new);
+                tagRepository.insertIgnoringExisting(missing);
+
+                // 이번에 추가한 태그와 동시에 다른 요청이 추가한 태그를 함께 조회
+                List<Tag> created = tagRepository.findAllByTagIn(Arrays.asList(missing));
+                created.forEach(tag -> resolved.put(tag.getTag(), tag));
+                found = new ArrayList<>(found);
+                found.addAll(created);
+            }
+
+            cacheAfterCommit(found);
+        }
+
+        Map<String, Tag> result = new LinkedHashMap<>();
+        for (String name : names) {
+            Tag tag = resolved.get(name);
+            if (tag == null) {
+                throw new IllegalStateException("태그를 생성하지 못했습니다: " + name);
+            }
+            result.put(name, tag);
+        }
+        return result;
+    }
+
+    /**
+     * 롤백된 태그가 캐시에 남지 않도록 커밋 이후에 캐시에 기록합니다.
+     */
+    private void cacheAfterCommit(List<Tag> tags) {
+        Runnable action = () -> tags.forEach(tag -> tagIdCache.put(tag.getTag(), tag.getId()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.meloncity.citiz.service.broadcast;
+
+/**
+ * 채팅방 WebSocket 브로드캐스트 추상화
+ * - local: 현재 노드의 SimpleBroker 로 바로 전달 (단일 인스턴스)
+ * - redis: Redis Pub/Sub 채팅방 채널로 발행하고, 해당 채팅방 구독자를 가진 노드가 로컬로 전달
+ * app.chat.broadcast.mode 로 선택
+ */
+public interface ChatBroadcaster {
+
+    /**
+     * 채팅방 구독자에게 메시지를 전달합니다.
+     * @param roomId 채팅방 ID
+     * @param destination STOMP 목적지 (/topic/chat/...)
+     * @param payload 전달할 메시지
+     */
+    void broadcast(Long roomId, String destination, Object payload);
+}
@@ -0,0 +1,25 @@
+package com.meloncity.citiz.service.broadcast;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 노드의 메시지 브로커로 바로 전달하는 브로드캐스터 (단일 인스턴스용, 기본값)
+ */
+@Component
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class LocalChatBroadcaster implements ChatBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void broadcast(Long roomId, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        log.debug("로컬 브로드캐스트 완료 - Room: {}, Destination: {}", roomId, destination);
+    }
+}
@@ -0,0 +1,215 @@
+package com.meloncity.citiz.service.broadcast;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.meloncity.citiz.config.redis.RedisPubSubConfig.PubSubChannels;
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.util.codec.ChatPayloadCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Redis Pub/Sub 기반 클러스터 브로드캐스터 (app.chat.broadcast.mode=redis)
+ *
+ * 메시지는 채팅방 채널(chat:room:{roomId})로 발행되고, 각 노드는 로컬 WebSocket 세션이
+ * 구독 중인 채팅방의 채널만 구독하여 자신의 SimpleBroker 로 전달합니다.
+ * 채팅방 구독 여부는 STOMP SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 이벤트로 추적합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.chat.broadcast.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisChatBroadcaster implements ChatBroadcaster {
+
+    // /topic/chat/room/{roomId}, /topic/chat/{roomId}/typing 등 채팅방 관련 목적지
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("^/topic/chat/(?:room/)?(\\d+)(?:/.*)?$");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListener;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final PubSubChannels pubSubChannels;
+    private final ChatPayloadCodec chatPayloadCodec;
+
+    // STOMP 메시지 컨버터와 같은 날짜 형식(ISO-8601)으로 직렬화하기 위한 전용 ObjectMapper
+    private ObjectMapper envelopeMapper;
+    private MessageListener roomListener;
+
+    // sessionId -> (subscriptionId -> roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new HashMap<>();
+    // roomId -> 로컬 구독 수
+    private final Map<Long, Integer> roomSubscriberCounts = new HashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        this.envelopeMapper = objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.roomListener = (message, pattern) -> {
+            // 채팅 메시지는 바이너리 봉투, 그 외(참여자 수, 타이핑 등)는 JSON 봉투로 수신
+            if (ChatPayloadCodec.isBinary(message.getBody())) {
+                deliverLocally(message.getBody());
+                return;
+            }
+            Object rawMessage = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (rawMessage != null) {
+                deliverLocally(rawMessage.toString());
+            }
+        };
+        log.info("Redis 클러스터 브로드캐스터 초기화 - Channel Prefix: {}", pubSubChannels.getRoomChannelPrefix());
+    }
+
+    @Override
+    public void broadcast(Long roomId, String destination, Object payload) {
+        try {
+            if (payload instanceof ChatMessageDto message) {
+                byte[] envelope = chatPayloadCodec.encodeRoomEnvelope(destination, System.currentTimeMillis(), message);
+                if (envelope != null) {
+                    byte[] channel = pubSubChannels.roomChannel(roomId).getBytes(StandardCharsets.UTF_8);
+                    redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, envelope));
+                    log.debug("클러스터 브로드캐스트 발행 - Room: {}, Destination: {}, Size: {} bytes",
+                            roomId, destination, envelope.length);
+                    return;
+                }
+            }
+
+            Map<String, Object> envelope = new HashMap<>();
+            envelope.put("destination", destination);
+            envelope.put("payload", payload);
+            envelope.put("publishedAt", System.currentTimeMillis());
+
+            redisTemplate.convertAndSend(pubSubChannels.roomChannel(roomId), envelopeMapper.writeValueAsString(envelope));
+            log.debug("클러스터 브로드캐스트 발행 - Room: {}, Destination: {}", roomId, destination);
+        } catch (Exception e) {
+            log.error("클러스터 브로드캐스트 발행 중 오류 발생 - Room: {}, Destination: {}", roomId, destination, e);
+            throw new RuntimeException("Failed to publish room broadcast", e);
+        }
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 바이너리 채팅 메시지 봉투를 로컬 구독자에게 전달합니다.
+     */
+    private void deliverLocally(byte[] envelopeBytes) {
+        try {
+            ChatPayloadCodec.RoomEnvelope envelope = chatPayloadCodec.decodeRoomEnvelope(envelopeBytes);
+            messagingTemplate.convertAndSend(envelope.destination(), envelope.message());
+
+            if (log.isDebugEnabled()) {
+                long latencyMs = System.currentTimeMillis() - envelope.publishedAt();
+                log.debug("클러스터 브로드캐스트 로컬 전달 - Destination: {}, Fan-out Latency: {}ms", envelope.destination(), latencyMs);
+            }
+        } catch (Exception e) {
+            log.error("클러스터 브로드캐스트 전달 중 오류 발생 - Size: {} bytes", envelopeBytes.length, e);
+        }
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 채팅방 메시지를 로컬 구독자에게 전달합니다.
+     */
+    private void deliverLocally(String envelopeJson) {
+        try {
+            JsonNode envelope = envelopeMapper.readTree(envelopeJson);
+            String destination = envelope.get("destination").asText();
+            messagingTemplate.convertAndSend(destination, envelope.get("payload"));
+
+            if (log.isDebugEnabled()) {
+                long latencyMs = System.currentTimeMillis() - envelope.path("publishedAt").asLong();
+                log.debug("클러스터 브로드캐스트 로컬 전달 - Destination: {}, Fan-out Latency: {}ms", destination, latencyMs);
+            }
+        } catch (Exception e) {
+            log.error("클러스터 브로드캐스트 전달 중 오류 발생 - Message: {}", envelopeJson, e);
+        }
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = extractRoomId(accessor.getDestination());
+        if (roomId == null || accessor.getSessionId() == null) {
+            return;
+        }
+
+        synchronized (this) {
+            Long previous = sessionSubscriptions
+                    .computeIfAbsent(accessor.getSessionId(), k -> new HashMap<>())
+                    .put(accessor.getSubscriptionId(), roomId);
+            if (previous == null) {
+                incrementRoom(roomId);
+            }
+        }
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        synchronized (this) {
+            Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+            if (subscriptions == null) {
+                return;
+            }
+            Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+            if (roomId != null) {
+                decrementRoom(roomId);
+            }
+            if (subscriptions.isEmpty()) {
+                sessionSubscriptions.remove(accessor.getSessionId());
+            }
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        synchronized (this) {
+            Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+            if (subscriptions != null) {
+                subscriptions.values().forEach(this::decrementRoom);
+            }
+        }
+    }
+
+    private void incrementRoom(Long roomId) {
+        int count = roomSubscriberCounts.merge(roomId, 1, Integer::sum);
+        if (count == 1) {
+            redisMessageListener.addMessageListener(roomListener, new ChannelTopic(pubSubChannels.roomChannel(roomId)));
+            log.info("채팅방 채널 구독 시작 - Room: {}", roomId);
+        }
+    }
+
+    private void decrementRoom(Long roomId) {
+        if (!roomSubscriberCounts.containsKey(roomId)) {
+            return;
+        }
+        Integer count = roomSubscriberCounts.computeIfPresent(roomId, (k, v) -> v > 1 ? v - 1 : null);
+        if (count == null) {
+            redisMessageListener.removeMessageListener(roomListener, new ChannelTopic(pubSubChannels.roomChannel(roomId)));
+            log.info("채팅방 채널 구독 해제 - Room: {}", roomId);
+        }
+    }
+
+    private Long extractRoomId(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = ROOM_DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.meloncity.citiz.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset(커서) 페이지네이션용 커서 인코딩/디코딩 유틸
+ * (create_date, id) 쌍을 클라이언트에 불투명한 문자열로 전달
+ */
+public class CursorUtil {
+
+    private static final String DELIMITER = "_";
+
+    public static String encode(LocalDateTime createDate, Long id) {
+        if (createDate == null || id == null) {
+            return null;
+        }
+        String raw = createDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 올바르지 않은 커서인 경우
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            return new Cursor(LocalDateTime.parse(raw.substring(0, idx)), Long.parseLong(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다: " + cursor);
+        }
+    }
+
+    public record Cursor(LocalDateTime createDate, Long id) {
+    }
+}
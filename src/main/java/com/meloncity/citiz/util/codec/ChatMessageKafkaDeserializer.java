@@ -0,0 +1,20 @@
+package com.meloncity.citiz.util.codec;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * ChatPayloadCodec 기반 Kafka 값 역직렬화기
+ * 바이너리/JSON 레코드를 모두 읽을 수 있어 롤링 배포 중 혼재된 토픽도 처리합니다.
+ */
+@RequiredArgsConstructor
+public class ChatMessageKafkaDeserializer implements Deserializer<ChatMessageDto> {
+
+    private final ChatPayloadCodec codec;
+
+    @Override
+    public ChatMessageDto deserialize(String topic, byte[] data) {
+        return codec.decodeMessage(data);
+    }
+}
@@ -0,0 +1,19 @@
+package com.meloncity.citiz.util.codec;
+
+import com.meloncity.citiz.dto.ChatMessageDto;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * ChatPayloadCodec 기반 Kafka 값 직렬화기
+ */
+@RequiredArgsConstructor
+public class ChatMessageKafkaSerializer implements Serializer<ChatMessageDto> {
+
+    private final ChatPayloadCodec codec;
+
+    @Override
+    public byte[] serialize(String topic, ChatMessageDto data) {
+        return data == null ? null : codec.encodeMessage(data);
+    }
+}
@@ -0,0 +1,381 @@
+package com.meloncity.citiz.util.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.meloncity.citiz.domain.chat.ChatStatus;
+import com.meloncity.citiz.domain.chat.MessageType;
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.dto.ParticipantNotificationDto;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 채팅 페이로드 코덱 (Kafka / Redis Pub/Sub 공용)
+ *
+ * app.codec.chat.format 이 binary 이면 스키마 기반 바이너리 포맷으로, json 이면 JSON 으로 인코딩합니다.
+ * 디코딩은 첫 바이트(MAGIC)로 포맷을 판별하므로 두 포맷이 섞여 있어도 처리할 수 있습니다.
+ * 롤링 배포 시에는 모든 노드가 이 코덱으로 교체될 때까지 json 으로 운영한 뒤 binary 로 전환합니다.
+ *
+ * 바이너리 포맷: [MAGIC][타입][버전][필드 존재 비트마스크(varint)][존재하는 필드들...]
+ * - 정수: varint (LEB128), 시각: epoch 초(zigzag varint) + 나노초(varint), 문자열: 길이(varint) + UTF-8
+ * - 열거형은 ordinal 로 저장하므로 상수는 끝에만 추가해야 합니다. 모르는 ordinal 은 디코딩 오류로 처리합니다.
+ * - 새 필드는 비트마스크의 다음 비트와 함께 끝에 추가하며, 이전 버전은 모르는 뒤쪽 필드를 무시합니다.
+ *
+ * json 포맷의 참여자 알림에는 GenericJackson2JsonRedisSerializer 를 쓰는 노드가 읽을 수 있도록 @class 속성을 포함합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatPayloadCodec {
+
+    public static final byte MAGIC = (byte) 0xB1;
+
+    private static final byte TYPE_CHAT_MESSAGE = 1;
+    private static final byte TYPE_PARTICIPANT_NOTIFICATION = 2;
+    private static final byte TYPE_ROOM_ENVELOPE = 3;
+    private static final byte VERSION = 1;
+
+    // GenericJackson2JsonRedisSerializer 의 기본 타입 속성
+    private static final String TYPE_PROPERTY = "@class";
+
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final ChatStatus[] CHAT_STATUSES = ChatStatus.values();
+    private static final ParticipantNotificationDto.NotificationType[] NOTIFICATION_TYPES =
+            ParticipantNotificationDto.NotificationType.values();
+
+    public enum Format { BINARY, JSON }
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.codec.chat.format:binary}")
+    private String formatProperty;
+
+    private Format format;
+    private ObjectMapper jsonMapper;
+
+    /**
+     * 채팅방 브로드캐스트 봉투 (destination + 메시지)
+     */
+    public record RoomEnvelope(String destination, long publishedAt, ChatMessageDto message) {}
+
+    @PostConstruct
+    public void initialize() {
+        this.format = Format.valueOf(formatProperty.trim().toUpperCase());
+        // Spring Kafka JsonSerializer 와 같은 형식(ISO-8601 날짜)으로 쓰고, 모르는 필드는 무시
+        this.jsonMapper = objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        log.info("채팅 페이로드 코덱 초기화 - Format: {}", format);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * 바이너리 포맷으로 인코딩된 데이터인지 확인합니다.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 3 && data[0] == MAGIC;
+    }
+
+    // ==================== ChatMessageDto ====================
+
+    public byte[] encodeMessage(ChatMessageDto message) {
+        if (format == Format.JSON) {
+            return writeJson(message);
+        }
+        BinaryWriter writer = new BinaryWriter(64 + length(message.getContent()));
+        writer.writeHeader(TYPE_CHAT_MESSAGE);
+        writeMessageFields(writer, message);
+        return writer.toByteArray();
+    }
+
+    public ChatMessageDto decodeMessage(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (!isBinary(data)) {
+            return readJson(data, ChatMessageDto.class);
+        }
+        BinaryReader reader = new BinaryReader(data);
+        reader.readHeader(TYPE_CHAT_MESSAGE);
+        return readMessageFields(reader);
+    }
+
+    // ==================== ParticipantNotificationDto ====================
+
+    public byte[] encodeNotification(ParticipantNotificationDto notification) {
+        if (format == Format.JSON) {
+            return writeTypedJson(notification);
+        }
+        BinaryWriter writer = new BinaryWriter(48);
+        writer.writeHeader(TYPE_PARTICIPANT_NOTIFICATION);
+
+        int mask = 0;
+        if (notification.getRoomId() != null) mask |= 1;
+        if (notification.getUserId() != null) mask |= 1 << 1;
+        if (notification.getUserName() != null) mask |= 1 << 2;
+        if (notification.getType() != null) mask |= 1 << 3;
+        if (notification.getTimestamp() != null) mask |= 1 << 4;
+        writer.writeVarLong(mask);
+
+        if ((mask & 1) != 0) writer.writeVarLong(notification.getRoomId());
+        if ((mask & 1 << 1) != 0) writer.writeVarLong(notification.getUserId());
+        if ((mask & 1 << 2) != 0) writer.writeString(notification.getUserName());
+        if ((mask & 1 << 3) != 0) writer.writeVarLong(notification.getType().ordinal());
+        if ((mask & 1 << 4) != 0) writer.writeDateTime(notification.getTimestamp());
+        return writer.toByteArray();
+    }
+
+    public ParticipantNotificationDto decodeNotification(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (!isBinary(data)) {
+            return readJson(data, ParticipantNotificationDto.class);
+        }
+        BinaryReader reader = new BinaryReader(data);
+        reader.readHeader(TYPE_PARTICIPANT_NOTIFICATION);
+
+        long mask = reader.readVarLong();
+        ParticipantNotificationDto notification = new ParticipantNotificationDto();
+        if ((mask & 1) != 0) notification.setRoomId(reader.readVarLong());
+        if ((mask & 1 << 1) != 0) notification.setUserId(reader.readVarLong());
+        if ((mask & 1 << 2) != 0) notification.setUserName(reader.readString());
+        if ((mask & 1 << 3) != 0) notification.setType(enumOf(NOTIFICATION_TYPES, reader.readVarLong()));
+        if ((mask & 1 << 4) != 0) notification.setTimestamp(reader.readDateTime());
+        return notification;
+    }
+
+    // ==================== 채팅방 브로드캐스트 봉투 ====================
+
+    /**
+     * 채팅 메시지 브로드캐스트 봉투를 바이너리로 인코딩합니다. (json 포맷이면 null 반환)
+     */
+    public byte[] encodeRoomEnvelope(String destination, long publishedAt, ChatMessageDto message) {
+        if (format == Format.JSON) {
+            return null;
+        }
+        BinaryWriter writer = new BinaryWriter(96 + length(message.getContent()));
+        writer.writeHeader(TYPE_ROOM_ENVELOPE);
+        writer.writeString(destination);
+        writer.writeVarLong(publishedAt);
+        writeMessageFields(writer, message);
+        return writer.toByteArray();
+    }
+
+    public RoomEnvelope decodeRoomEnvelope(byte[] data) {
+        BinaryReader reader = new BinaryReader(data);
+        reader.readHeader(TYPE_ROOM_ENVELOPE);
+        String destination = reader.readString();
+        long publishedAt = reader.readVarLong();
+        return new RoomEnvelope(destination, publishedAt, readMessageFields(reader));
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private void writeMessageFields(BinaryWriter writer, ChatMessageDto message) {
+        int mask = 0;
+        if (message.getRoomId() != null) mask |= 1;
+        if (message.getSenderId() != null) mask |= 1 << 1;
+        if (message.getSenderName() != null) mask |= 1 << 2;
+        if (message.getContent() != null) mask |= 1 << 3;
+        if (message.getType() != null) mask |= 1 << 4;
+        if (message.getStatus() != null) mask |= 1 << 5;
+        if (message.getTimestamp() != null) mask |= 1 << 6;
+        if (message.getStreamId() != null) mask |= 1 << 7;
+        if (message.getTempId() != null) mask |= 1 << 8;
+        if (message.getMessageId() != null) mask |= 1 << 9;
+        writer.writeVarLong(mask);
+
+        if ((mask & 1) != 0) writer.writeVarLong(message.getRoomId());
+        if ((mask & 1 << 1) != 0) writer.writeVarLong(message.getSenderId());
+        if ((mask & 1 << 2) != 0) writer.writeString(message.getSenderName());
+        if ((mask & 1 << 3) != 0) writer.writeString(message.getContent());
+        if ((mask & 1 << 4) != 0) writer.writeVarLong(message.getType().ordinal());
+        if ((mask & 1 << 5) != 0) writer.writeVarLong(message.getStatus().ordinal());
+        if ((mask & 1 << 6) != 0) writer.writeDateTime(message.getTimestamp());
+        if ((mask & 1 << 7) != 0) writer.writeString(message.getStreamId());
+        if ((mask & 1 << 8) != 0) writer.writeString(message.getTempId());
+        if ((mask & 1 << 9) != 0) writer.writeVarLong(message.getMessageId());
+    }
+
+    private ChatMessageDto readMessageFields(BinaryReader reader) {
+        long mask = reader.readVarLong();
+        ChatMessageDto message = new ChatMessageDto();
+        if ((mask & 1) != 0) message.setRoomId(reader.readVarLong());
+        if ((mask & 1 << 1) != 0) message.setSenderId(reader.readVarLong());
+        if ((mask & 1 << 2) != 0) message.setSenderName(reader.readString());
+        if ((mask & 1 << 3) != 0) message.setContent(reader.readString());
+        if ((mask & 1 << 4) != 0) message.setType(enumOf(MESSAGE_TYPES, reader.readVarLong()));
+        if ((mask & 1 << 5) != 0) message.setStatus(enumOf(CHAT_STATUSES, reader.readVarLong()));
+        if ((mask & 1 << 6) != 0) message.setTimestamp(reader.readDateTime());
+        if ((mask & 1 << 7) != 0) message.setStreamId(reader.readString());
+        if ((mask & 1 << 8) != 0) message.setTempId(reader.readString());
+        if ((mask & 1 << 9) != 0) message.setMessageId(reader.readVarLong());
+        return message;
+    }
+
+    private byte[] writeJson(Object value) {
+        try {
+            return jsonMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON 인코딩 실패", e);
+        }
+    }
+
+    /**
+     * 타입 정보(@class)를 맨 앞에 포함하여 JSON 으로 인코딩합니다.
+     */
+    private byte[] writeTypedJson(Object value) {
+        ObjectNode typed = jsonMapper.createObjectNode();
+        typed.put(TYPE_PROPERTY, value.getClass().getName());
+        typed.setAll((ObjectNode) jsonMapper.valueToTree(value));
+        return writeJson(typed);
+    }
+
+    private <T> T readJson(byte[] data, Class<T> type) {
+        try {
+            return jsonMapper.readValue(data, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON 디코딩 실패 - Type: " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 저장된 ordinal 을 열거형 상수로 변환합니다. 범위를 벗어나면(상수를 추가한 새 버전이 쓴 값 등) 디코딩 오류로 처리합니다.
+     */
+    private static <E extends Enum<E>> E enumOf(E[] values, long ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("알 수 없는 열거형 값입니다. Type: "
+                    + values.getClass().getComponentType().getSimpleName() + ", Ordinal: " + ordinal);
+        }
+        return values[(int) ordinal];
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() * 3 : 0;
+    }
+
+    /**
+     * varint 기반 바이너리 쓰기 (확장 가능한 byte 배열)
+     */
+    private static final class BinaryWriter {
+        private byte[] buffer;
+        private int position;
+
+        private BinaryWriter(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeHeader(byte type) {
+            ensureCapacity(3);
+            buffer[position++] = MAGIC;
+            buffer[position++] = type;
+            buffer[position++] = VERSION;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            long seconds = value.toEpochSecond(ZoneOffset.UTC);
+            writeVarLong((seconds << 1) ^ (seconds >> 63)); // zigzag
+            writeVarLong(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    /**
+     * varint 기반 바이너리 읽기
+     */
+    private static final class BinaryReader {
+        private final byte[] buffer;
+        private int position;
+
+        private BinaryReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        void readHeader(byte expectedType) {
+            if (buffer.length < 3 || buffer[0] != MAGIC) {
+                throw new IllegalArgumentException("바이너리 페이로드가 아닙니다.");
+            }
+            if (buffer[1] != expectedType) {
+                throw new IllegalArgumentException("페이로드 타입이 일치하지 않습니다. Expected: " + expectedType + ", Actual: " + buffer[1]);
+            }
+            // buffer[2] 는 버전. 하위 호환은 비트마스크로 처리하므로 현재는 검사하지 않음
+            position = 3;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            while (shift < 64) {
+                if (position >= buffer.length) {
+                    throw new IllegalArgumentException("바이너리 페이로드가 잘렸습니다.");
+                }
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+            throw new IllegalArgumentException("잘못된 varint 입니다.");
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("바이너리 페이로드가 잘렸습니다.");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        LocalDateTime readDateTime() {
+            long zigzag = readVarLong();
+            long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+            int nanos = (int) readVarLong();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+    }
+}
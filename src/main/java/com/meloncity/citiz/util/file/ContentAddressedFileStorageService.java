@@ -0,0 +1,321 @@
+package com.meloncity.citiz.util.file;
+
+import com.meloncity.citiz.config.FileStorageProperties;
+import com.meloncity.citiz.domain.StoredBlob;
+import com.meloncity.citiz.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소(SHA-256) 기반 중복 제거 파일 저장소 (file.storage: cas)
+ *
+ * 파일은 "/{해시 0-1}/{해시 2-3}/{해시}.{확장자}" 에 한 번만 저장되며, 같은 내용이 다시 업로드되면
+ * 임시 파일을 버리고 참조 수(stored_blob)만 늘립니다.
+ * 참조 수 변경(reserve/release)은 호출한 트랜잭션 안에서 advisory lock 을 잡고 하며, 커밋 이후에는 파일 이동만 합니다.
+ * 참조 수가 0 인 채로 유예 시간이 지난 파일은 주기 작업이 잠금 안에서 다시 확인한 뒤 축소본과 함께 지웁니다.
+ * 임시 영역/기준 디렉토리는 LocalFileStorageService 와 공유합니다.
+ */
+@Service
+@Slf4j
+public class ContentAddressedFileStorageService implements FileStorageService {
+
+    // 한 번에 채널로 옮길 최대 크기
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    // "{해시}.{확장자}" 또는 축소본 "{해시}_w{너비}.{확장자}"
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{64})(_w\\d+)?(\\.[A-Za-z0-9]{1,10})?");
+
+    private static final Map<String, String> IMAGE_EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/jpg", ".jpg",
+            "image/pjpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp",
+            "image/bmp", ".bmp");
+
+    private static final Map<String, String> EXTENSION_ALIASES = Map.of(
+            ".jpeg", ".jpg",
+            ".jpe", ".jpg",
+            ".jfif", ".jpg",
+            ".tif", ".tiff");
+
+    private final LocalFileStorageService localFileStorageService;
+    private final StoredBlobRepository storedBlobRepository;
+    private final FileStorageProperties fileStorageProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.cas.purge-grace-minutes:60}")
+    private long purgeGraceMinutes;
+
+    @Value("${app.upload.cas.purge-batch-size:100}")
+    private int purgeBatchSize;
+
+    public ContentAddressedFileStorageService(LocalFileStorageService localFileStorageService,
+                                              StoredBlobRepository storedBlobRepository,
+                                              FileStorageProperties fileStorageProperties,
+                                              PlatformTransactionManager transactionManager) {
+        this.localFileStorageService = localFileStorageService;
+        this.storedBlobRepository = storedBlobRepository;
+        this.fileStorageProperties = fileStorageProperties;
+        // 호출 측 트랜잭션이 있으면 참여하여 함께 커밋/롤백되고, 없으면 단독으로 실행
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String upload(MultipartFile file) throws IOException {
+        StagedFile staged = stage(file);
+        try {
+            reserve(staged);
+            commit(staged);
+        } catch (IOException | RuntimeException e) {
+            discard(staged);
+            throw e;
+        }
+        return staged.url();
+    }
+
+    @Override
+    public String getBaseDir() {
+        return localFileStorageService.getBaseDir();
+    }
+
+    /**
+     * 해시 이름의 파일은 release 에서 참조 수만 줄였으므로 여기서는 지우지 않습니다. (참조 수 0 인 파일은 주기 작업이 정리)
+     * 해시 이름이 아닌 파일(UUID 저장분)은 바로 삭제합니다.
+     */
+    @Override
+    public void delete(String fileName) throws IOException {
+        Matcher matcher = BLOB_NAME.matcher(Paths.get(fileName).getFileName().toString());
+        if (!matcher.matches()) {
+            localFileStorageService.delete(fileName);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션 안에서 참조 수를 늘립니다. 처음 업로드된 내용이면 참조 행을 만듭니다.
+     */
+    @Override
+    public void reserve(StagedFile stagedFile) {
+        String blobName = Paths.get(stagedFile.url()).getFileName().toString();
+        String hash = blobName.substring(0, 64);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storedBlobRepository.lockBlob(lockKeyOf(hash));
+            storedBlobRepository.findById(blobName).ifPresentOrElse(
+                    StoredBlob::increaseRefCount,
+                    () -> storedBlobRepository.save(new StoredBlob(blobName, stagedFile.size())));
+        });
+    }
+
+    /**
+     * 현재 트랜잭션 안에서 참조 수를 줄입니다. 축소본 경로와 해시 이름이 아닌 파일은 참조를 관리하지 않으므로 무시합니다.
+     */
+    @Override
+    public void release(String fileName) {
+        Matcher matcher = BLOB_NAME.matcher(Paths.get(fileName).getFileName().toString());
+        if (!matcher.matches() || matcher.group(2) != null) {
+            return;
+        }
+
+        String hash = matcher.group(1);
+        String blobName = matcher.group(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            storedBlobRepository.lockBlob(lockKeyOf(hash));
+            storedBlobRepository.findById(blobName).ifPresent(blob ->
+                    log.debug("공유 파일 참조 해제 - File: {}, Remaining: {}", blobName, blob.decreaseRefCount()));
+        });
+    }
+
+    /**
+     * 업로드 스트림을 임시 영역에 기록하면서 SHA-256 을 함께 계산합니다. (파일을 다시 읽지 않음)
+     */
+    @Override
+    public StagedFile stage(MultipartFile file) throws IOException {
+        Path stagingDir = localFileStorageService.stagingDir();
+        Files.createDirectories(stagingDir);
+        Path stagingPath = stagingDir.resolve(UUID.randomUUID() + ".part");
+
+        MessageDigest digest = newDigest();
+        long size = 0;
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest);
+             ReadableByteChannel in = Channels.newChannel(inputStream);
+             FileChannel out = FileChannel.open(stagingPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            while ((transferred = out.transferFrom(in, size, TRANSFER_CHUNK)) > 0) {
+                size += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(stagingPath);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String blobName = hash + normalizedExtensionOf(file);
+        return new StagedFile(stagingPath, "/" + shardOf(hash) + "/" + blobName, size);
+    }
+
+    /**
+     * 같은 내용의 파일이 아직 없을 때만 임시 파일을 옮깁니다. (이미 있으면 쓰기 없이 폐기)
+     * 참조 수는 reserve 에서 이미 기록되었으므로 DB 커넥션을 사용하지 않습니다.
+     */
+    @Override
+    public void commit(StagedFile stagedFile) throws IOException {
+        Path target = Paths.get(getBaseDir(), stagedFile.url());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(stagedFile.stagingPath());
+            log.debug("중복 파일 업로드, 기존 파일 공유 - File: {}", target.getFileName());
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(stagedFile.stagingPath(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 동시에 확정한 다른 요청이 먼저 옮긴 경우
+            Files.deleteIfExists(stagedFile.stagingPath());
+        }
+    }
+
+    @Override
+    public void discard(StagedFile stagedFile) {
+        localFileStorageService.discard(stagedFile);
+    }
+
+    @Override
+    public int purgeStagedBefore(Instant cutoff) throws IOException {
+        return localFileStorageService.purgeStagedBefore(cutoff);
+    }
+
+    /**
+     * 참조 수가 0 인 채로 유예 시간이 지난 파일을 축소본과 함께 삭제합니다.
+     * 유예 시간은 커밋 직후 파일 이동이 끝나기 전에 참조가 해제된 경우 등을 위한 여유이며,
+     * 각 파일은 잠금을 잡고 참조 수를 다시 확인한 뒤 행과 파일을 함께 지웁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.cas.purge-interval-ms:600000}",
+            initialDelayString = "${app.upload.cas.purge-interval-ms:600000}")
+    public void purgeUnreferenced() {
+        if (!"cas".equalsIgnoreCase(fileStorageProperties.getStorage())) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(purgeGraceMinutes);
+        int purged = 0;
+        try {
+            for (String blobName : storedBlobRepository.findUnreferencedBefore(cutoff, PageRequest.of(0, purgeBatchSize))) {
+                try {
+                    if (purge(blobName, cutoff)) {
+                        purged++;
+                    }
+                } catch (Exception e) {
+                    log.error("참조 없는 공유 파일 삭제 실패 - File: {}", blobName, e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("참조 없는 공유 파일 정리 중 오류 발생", e);
+        }
+
+        if (purged > 0) {
+            log.info("참조 없는 공유 파일 정리 - Count: {}", purged);
+        }
+    }
+
+    private boolean purge(String blobName, LocalDateTime cutoff) {
+        String hash = blobName.substring(0, 64);
+        Boolean purged = transactionTemplate.execute(status -> {
+            storedBlobRepository.lockBlob(lockKeyOf(hash));
+
+            StoredBlob blob = storedBlobRepository.findById(blobName).orElse(null);
+            if (blob == null || blob.getRefCount() > 0 || !blob.getUpdateDate().isBefore(cutoff)) {
+                return false;
+            }
+            storedBlobRepository.delete(blob);
+            try {
+                deleteWithDerivatives(hash, blobName);
+            } catch (IOException e) {
+                // 행 삭제도 함께 롤백하여 다음 주기에 다시 시도
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(purged);
+    }
+
+    private void deleteWithDerivatives(String hash, String blobName) throws IOException {
+        Path shardDir = Paths.get(getBaseDir(), shardOf(hash));
+        Files.deleteIfExists(shardDir.resolve(blobName));
+
+        if (!Files.isDirectory(shardDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(shardDir)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().startsWith(hash + "_w")) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * 같은 내용이 파일명 표기(a.jpg, b.JPG, c.jpeg)에 따라 따로 저장되지 않도록 확장자를 정규화합니다.
+     * 알려진 이미지 Content-Type 이면 그에 맞는 확장자를, 아니면 원본 확장자를 소문자로 바꿔 별칭을 통일해 사용합니다.
+     */
+    private static String normalizedExtensionOf(MultipartFile file) {
+        String contentType = file.getContentType();
+        if (contentType != null) {
+            String byType = IMAGE_EXTENSIONS.get(contentType.toLowerCase(Locale.ROOT));
+            if (byType != null) {
+                return byType;
+            }
+        }
+
+        String ext = LocalFileStorageService.extensionOf(file.getOriginalFilename()).toLowerCase(Locale.ROOT);
+        return EXTENSION_ALIASES.getOrDefault(ext, ext);
+    }
+
+    /**
+     * 한 디렉토리에 파일이 몰리지 않도록 해시 앞 4자리로 2단계 디렉토리를 만듦 (최대 65536개)
+     */
+    private static String shardOf(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4);
+    }
+
+    private static long lockKeyOf(String hash) {
+        return Long.parseUnsignedLong(hash.substring(0, 16), 16);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,9 +3,45 @@ package com.meloncity.citiz.util.file;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 
 public interface FileStorageService {
     String upload(MultipartFile file) throws IOException;
     String getBaseDir();
     void delete(String fileName) throws IOException;
+
+    /**
+     * 파일을 임시 영역에 저장합니다. 반환된 url 은 commit 이후부터 유효합니다.
+     */
+    StagedFile stage(MultipartFile file) throws IOException;
+
+    /**
+     * 임시 저장된 파일을 확정하여 url 로 접근할 수 있게 합니다.
+     */
+    void commit(StagedFile stagedFile) throws IOException;
+
+    /**
+     * 확정할 파일의 참조를 현재 트랜잭션 안에서 기록합니다. 트랜잭션이 롤백되면 함께 취소됩니다.
+     * 참조를 관리하지 않는 저장소는 아무것도 하지 않습니다.
+     */
+    default void reserve(StagedFile stagedFile) {
+    }
+
+    /**
+     * 삭제할 파일의 참조를 현재 트랜잭션 안에서 해제합니다. 실제 파일 삭제는 커밋 이후 delete 에서 합니다.
+     * 참조를 관리하지 않는 저장소는 아무것도 하지 않습니다.
+     */
+    default void release(String fileName) {
+    }
+
+    /**
+     * 임시 저장된 파일을 폐기합니다. 이미 확정/폐기된 파일이면 아무것도 하지 않습니다.
+     */
+    void discard(StagedFile stagedFile);
+
+    /**
+     * 기준 시각 이전에 임시 저장된 뒤 확정되지 않은 파일을 정리합니다.
+     * @return 정리한 파일 수
+     */
+    int purgeStagedBefore(Instant cutoff) throws IOException;
 }
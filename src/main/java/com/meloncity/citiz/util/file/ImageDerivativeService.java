@@ -0,0 +1,264 @@
+package com.meloncity.citiz.util.file;
+
+import com.meloncity.citiz.domain.Post;
+import com.meloncity.citiz.domain.PostPhoto;
+import com.meloncity.citiz.repository.PostPhotoRepository;
+import com.meloncity.citiz.service.PostDetailCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 사진 축소본(small/medium) 생성 서비스
+ *
+ * 게시글 저장이 커밋된 뒤 별도 스레드 풀에서 JDK ImageIO 로 고정 너비의 축소본을 만들고 PostPhoto 에 경로를 기록합니다.
+ * 원본이 목표 너비보다 작으면 원본 경로를 그대로 사용하며, ImageIO 가 읽지 못하는 형식은 원본만 제공합니다.
+ */
+@Component
+@Slf4j
+public class ImageDerivativeService {
+
+    private final FileStorageService fileStorageService;
+    private final PostPhotoRepository postPhotoRepository;
+    private final PostDetailCache postDetailCache;
+    private final TaskExecutor imageExecutor;
+
+    @Value("${app.image.derivative.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.image.derivative.small-width:320}")
+    private int smallWidth;
+
+    @Value("${app.image.derivative.medium-width:960}")
+    private int mediumWidth;
+
+    @Value("${app.image.derivative.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // 디코딩을 허용하는 최대 픽셀 수 (ARGB 기준 약 160MB)
+    @Value("${app.image.derivative.max-pixels:40000000}")
+    private long maxPixels;
+
+    public ImageDerivativeService(FileStorageService fileStorageService,
+                                  PostPhotoRepository postPhotoRepository,
+                                  PostDetailCache postDetailCache,
+                                  @Qualifier("imageExecutor") TaskExecutor imageExecutor) {
+        this.fileStorageService = fileStorageService;
+        this.postPhotoRepository = postPhotoRepository;
+        this.postDetailCache = postDetailCache;
+        this.imageExecutor = imageExecutor;
+    }
+
+    private record PhotoRef(Long id, String imgUrl) {}
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 게시글 사진들의 축소본 생성을 예약합니다.
+     * 원본 파일 확정(StagedFileUploader.commitOnTransactionEnd)보다 나중에 등록해야 확정된 파일을 읽습니다.
+     * @param post 저장된 게시글 (사진 ID 가 할당된 상태)
+     */
+    public void generateAfterCommit(Post post) {
+        if (!enabled || post.getPhotos().isEmpty()) {
+            return;
+        }
+        Long postId = post.getId();
+        List<PhotoRef> photos = post.getPhotos().stream()
+                .map(photo -> new PhotoRef(photo.getId(), photo.getImgUrl()))
+                .toList();
+
+        Runnable action = () -> photos.forEach(photo -> submit(postId, photo));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 사진의 원본과 축소본 경로를 중복 없이 반환합니다. (파일 삭제용)
+     */
+    public static List<String> allUrls(PostPhoto photo) {
+        return Stream.of(photo.getImgUrl(), photo.getSmallUrl(), photo.getMediumUrl())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private void submit(Long postId, PhotoRef photo) {
+        try {
+            imageExecutor.execute(() -> generate(postId, photo));
+        } catch (TaskRejectedException e) {
+            // 축소본이 없으면 원본을 내려주므로 기능상 문제는 없음
+            log.warn("이미지 축소본 생성 대기열 초과, 건너뜁니다 - Photo: {}", photo.id());
+        }
+    }
+
+    private void generate(Long postId, PhotoRef photo) {
+        long start = System.nanoTime();
+        try {
+            Path original = Paths.get(fileStorageService.getBaseDir(), photo.imgUrl());
+            BufferedImage source = readImage(original, photo);
+            if (source == null) {
+                return;
+            }
+
+            String smallUrl = writeDerivative(source, photo.imgUrl(), smallWidth);
+            String mediumUrl = writeDerivative(source, photo.imgUrl(), mediumWidth);
+
+            if (postPhotoRepository.updateDerivativeUrls(photo.id(), smallUrl, mediumUrl) == 0) {
+                log.debug("축소본 생성 중 사진이 삭제됨 - Photo: {}", photo.id());
+                return;
+            }
+            postDetailCache.evictAfterCommit(postId);
+
+            log.debug("이미지 축소본 생성 완료 - Photo: {}, Elapsed: {}ms",
+                    photo.id(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("이미지 축소본 생성 실패 - Photo: {}, URL: {}", photo.id(), photo.imgUrl(), e);
+        }
+    }
+
+    /**
+     * 헤더에서 가로/세로 크기를 먼저 읽어 최대 픽셀 수를 넘는 이미지는 디코딩하지 않습니다.
+     * (작은 파일이라도 픽셀 수가 매우 크면 디코딩 시 힙을 모두 사용할 수 있음)
+     * @return 디코딩한 이미지, 지원하지 않는 형식이거나 너무 크면 null
+     */
+    private BufferedImage readImage(Path original, PhotoRef photo) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (input == null) {
+                throw new IOException("이미지 파일을 열 수 없습니다: " + original);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.info("축소본을 만들 수 없는 이미지 형식 - Photo: {}, URL: {}", photo.id(), photo.imgUrl());
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("이미지 크기가 제한을 초과하여 축소본을 만들지 않습니다 - Photo: {}, Size: {}x{}, Limit: {} pixels",
+                            photo.id(), reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 목표 너비의 축소본을 원본 옆에 "{이름}_w{너비}.{확장자}" 로 기록하고 경로를 반환합니다.
+     * 원본이 목표 너비 이하이면 원본 경로를 반환합니다.
+     */
+    private String writeDerivative(BufferedImage source, String imgUrl, int targetWidth) throws IOException {
+        if (source.getWidth() <= targetWidth) {
+            return imgUrl;
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        int dot = imgUrl.lastIndexOf('.');
+        String baseName = dot > 0 ? imgUrl.substring(0, dot) : imgUrl;
+        String url = baseName + "_w" + targetWidth + "." + format;
+
+        Path target = Paths.get(fileStorageService.getBaseDir(), url);
+        if (Files.exists(target)) {
+            // 내용 주소 저장소에서 같은 원본을 공유하는 경우 이미 만들어진 축소본을 재사용
+            return url;
+        }
+
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage resized = resize(source, targetWidth, targetHeight, alpha);
+
+        Path temp = Files.createTempFile(target.getParent(), ".derivative-", "." + format);
+        try {
+            if (alpha) {
+                ImageIO.write(resized, "png", temp.toFile());
+            } else {
+                writeJpeg(resized, temp);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return url;
+    }
+
+    /**
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 줄인 뒤 목표 크기로 맞춤
+     */
+    private BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    // 투명 영역이 검게 나오지 않도록 흰 배경
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, width, height);
+                }
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path path) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(path.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
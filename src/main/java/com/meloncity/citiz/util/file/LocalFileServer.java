@@ -0,0 +1,341 @@
+package com.meloncity.citiz.util.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 저장소 파일 전송기 (/img/**)
+ *
+ * - ETag: 파일 내용의 SHA-256 (경로/크기/수정시각 기준으로 캐시하여 파일당 한 번만 계산)
+ * - Cache-Control: UUID 로 저장된 파일은 내용이 바뀌지 않으므로 1년 immutable, 그 외는 max-age 후 ETag 재검증
+ * - Range: 단일 구간(bytes=a-b, a-, -n)만 206 으로 응답하고 다중 구간은 전체(200)로 응답
+ * - 전송: Tomcat sendfile 을 지원하면 커널에 위임하고, 아니면 FileChannel.transferTo 로 전송
+ */
+@Component
+@Slf4j
+public class LocalFileServer {
+
+    private static final long IMMUTABLE_MAX_AGE_SECONDS = 365L * 24 * 60 * 60;
+
+    // 업로드 시 부여되는 UUID 또는 SHA-256 파일명 (축소본 "_w{너비}" 접미사 포함)
+    private static final Pattern IMMUTABLE_NAME = Pattern.compile(
+            "([0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}|[0-9a-f]{64})(_w\\d+)?(\\.[A-Za-z0-9]{1,10})?");
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+
+    @Value("${app.image.serve.sendfile-enabled:true}")
+    private boolean sendfileEnabled;
+
+    @Value("${app.image.serve.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    private final Map<Path, CachedETag> etagCache;
+
+    private record CachedETag(long size, long lastModified, String etag) {}
+
+    private record ByteRange(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    public LocalFileServer(FileStorageService fileStorageService,
+                           @Value("${app.image.serve.etag-cache-size:10000}") int etagCacheSize) {
+        this.fileStorageService = fileStorageService;
+        this.etagCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedETag> eldest) {
+                return size() > etagCacheSize;
+            }
+        });
+    }
+
+    /**
+     * 저장소 기준 상대 경로의 파일을 응답으로 전송합니다.
+     * @param relativePath "/img" 이후의 경로 (예: "/uuid.jpg")
+     */
+    public void serve(String relativePath, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(relativePath);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attrs.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = etagOf(file, size, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlOf(file));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteRange range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            range = parseRange(rangeHeader, size);
+            if (range == null && Boolean.FALSE.equals(isSatisfiable(rangeHeader, size))) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long start = 0;
+        long length = size;
+        if (range != null) {
+            start = range.start();
+            length = range.length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        // 커널 sendfile 로 전송 (응답 본문 복사 없이 컨테이너가 처리)
+        if (sendfileEnabled && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        transfer(file, start, length, response);
+    }
+
+    /**
+     * 상대 경로를 저장소 내부의 실제 경로로 변환합니다.
+     * 저장소 밖을 가리키거나 숨김 경로(임시 업로드 디렉토리 등)를 포함하면 null 을 반환합니다.
+     */
+    private Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.isBlank()) {
+            return null;
+        }
+        Path baseDir = Paths.get(fileStorageService.getBaseDir()).toAbsolutePath().normalize();
+        String trimmed = relativePath.startsWith("/") ? relativePath.substring(1) : relativePath;
+
+        Path file;
+        try {
+            file = baseDir.resolve(trimmed).normalize();
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (!file.startsWith(baseDir) || file.equals(baseDir)) {
+            return null;
+        }
+        for (Path part : baseDir.relativize(file)) {
+            if (part.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        return file;
+    }
+
+    private String cacheControlOf(Path file) {
+        if (IMMUTABLE_NAME.matcher(file.getFileName().toString()).matches()) {
+            return "public, max-age=" + IMMUTABLE_MAX_AGE_SECONDS + ", immutable";
+        }
+        return "public, max-age=" + maxAgeSeconds + ", must-revalidate";
+    }
+
+    private String etagOf(Path file, long size, long lastModified) throws IOException {
+        CachedETag cached = etagCache.get(file);
+        if (cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+            return cached.etag();
+        }
+
+        String etag = "\"" + sha256(file) + "\"";
+        etagCache.put(file, new CachedETag(size, lastModified, etag));
+        return etag;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }
+
+    /**
+     * If-None-Match 가 있으면 ETag 로만 판단하고, 없을 때만 If-Modified-Since 를 사용합니다.
+     */
+    private boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            if (ifNoneMatch.trim().equals("*")) {
+                return true;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP 날짜는 초 단위이므로 밀리초를 버리고 비교
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * If-Range 가 없거나 현재 파일과 일치할 때만 Range 를 적용합니다. (불일치 시 전체 전송)
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"")) {
+            return ifRange.trim().equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 단일 구간 Range 를 해석합니다. 다중 구간이거나 형식이 잘못되었거나 범위를 벗어나면 null 을 반환합니다.
+     */
+    private static ByteRange parseRange(String header, long size) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            if (first.isEmpty()) {
+                // bytes=-n : 마지막 n 바이트
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix == 0 || size == 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 해석하지 못한 Range 가 416 대상인지 판단합니다.
+     * 단일 구간 형식이지만 범위를 벗어난 경우만 FALSE 이며, 그 외(다중 구간 등)는 Range 를 무시하고 전체를 보냄
+     */
+    private static Boolean isSatisfiable(String header, long size) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        return parseRange(header, size) != null;
+    }
+
+    private void transfer(Path file, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } catch (IOException e) {
+            // 대부분 클라이언트가 전송 도중 연결을 끊은 경우
+            log.debug("파일 전송 중단 - Path: {}, Reason: {}", file, e.getMessage());
+        }
+    }
+}
@@ -2,33 +2,43 @@ package com.meloncity.citiz.util.file;
 
 import com.meloncity.citiz.config.FileStorageProperties;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class LocalFileStorageService implements FileStorageService{
 
+    // 확정 전 파일을 두는 디렉토리 (baseDir 하위, 같은 파일시스템이므로 확정은 rename 으로 처리)
+    private static final String STAGING_DIR = ".staging";
+
+    // 한 번에 채널로 옮길 최대 크기
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
     private final FileStorageProperties properties;
 
     @Override
     public String upload(MultipartFile file) throws IOException {
-        String baseDir = properties.getLocal().getBaseDir();
-        String originalFilename = file.getOriginalFilename();
-        String ext = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String fileName = UUID.randomUUID() + ext;
-
-        Path path = Paths.get(baseDir, fileName);
-        Files.createDirectories(path.getParent());
-        file.transferTo(path.toFile());
-
-        return "/" + fileName; // 프론트에 사용할 URL
+        StagedFile staged = stage(file);
+        try {
+            commit(staged);
+        } catch (IOException e) {
+            discard(staged);
+            throw e;
+        }
+        return staged.url(); // 프론트에 사용할 URL
     }
 
     @Override
@@ -43,4 +53,77 @@ public class LocalFileStorageService implements FileStorageService{
 
         Files.delete(path);
     }
+
+    /**
+     * 업로드 스트림을 NIO 채널로 임시 디렉토리에 바로 기록합니다. (전체 내용을 메모리에 올리지 않음)
+     */
+    @Override
+    public StagedFile stage(MultipartFile file) throws IOException {
+        String fileName = UUID.randomUUID() + extensionOf(file.getOriginalFilename());
+        Path stagingPath = stagingDir().resolve(fileName);
+        Files.createDirectories(stagingPath.getParent());
+
+        long size = 0;
+        try (InputStream inputStream = file.getInputStream();
+             ReadableByteChannel in = Channels.newChannel(inputStream);
+             FileChannel out = FileChannel.open(stagingPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            while ((transferred = out.transferFrom(in, size, TRANSFER_CHUNK)) > 0) {
+                size += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(stagingPath);
+            throw e;
+        }
+
+        return new StagedFile(stagingPath, "/" + fileName, size);
+    }
+
+    @Override
+    public void commit(StagedFile stagedFile) throws IOException {
+        Path target = Paths.get(getBaseDir()).resolve(stagedFile.stagingPath().getFileName());
+        Files.move(stagedFile.stagingPath(), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void discard(StagedFile stagedFile) {
+        try {
+            Files.deleteIfExists(stagedFile.stagingPath());
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패 - Path: {}", stagedFile.stagingPath(), e);
+        }
+    }
+
+    @Override
+    public int purgeStagedBefore(Instant cutoff) throws IOException {
+        Path stagingDir = stagingDir();
+        if (!Files.isDirectory(stagingDir)) {
+            return 0;
+        }
+
+        int purged = 0;
+        try (Stream<Path> files = Files.list(stagingDir)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(path).toInstant().isBefore(cutoff) && Files.deleteIfExists(path)) {
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    Path stagingDir() {
+        return Paths.get(getBaseDir(), STAGING_DIR);
+    }
+
+    /**
+     * 원본 파일명의 확장자 (경로 문자가 섞이지 않도록 영문/숫자 확장자만 허용)
+     */
+    static String extensionOf(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf(".") < 0) {
+            return "";
+        }
+        String ext = originalFilename.substring(originalFilename.lastIndexOf("."));
+        return ext.matches("\\.[A-Za-z0-9]{1,10}") ? ext : "";
+    }
 }
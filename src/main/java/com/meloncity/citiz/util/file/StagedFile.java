@@ -0,0 +1,13 @@
+package com.meloncity.citiz.util.file;
+
+import java.nio.file.Path;
+
+/**
+ * 임시 영역에 저장되어 확정(commit) 또는 폐기(discard)를 기다리는 업로드 파일
+ *
+ * @param stagingPath 임시 저장 경로
+ * @param url         확정 후 사용할 파일 경로 (DB 에 저장하는 값)
+ * @param size        파일 크기 (bytes)
+ */
+public record StagedFile(Path stagingPath, String url, long size) {
+}
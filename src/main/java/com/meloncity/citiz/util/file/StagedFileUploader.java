@@ -0,0 +1,180 @@
+package com.meloncity.citiz.util.file;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 2단계(stage -> commit) 파일 업로드 도우미
+ *
+ * 1. 트랜잭션 시작 전에 파일을 임시 영역에 병렬로 기록 (DB 커넥션을 잡지 않은 상태)
+ * 2. 트랜잭션 안에서 commitOnTransactionEnd 로 등록하면 참조를 트랜잭션 안에서 기록하고, 커밋 시 파일 확정, 롤백 시 폐기
+ * 3. 서버 중단 등으로 확정/폐기되지 못한 임시 파일은 주기적으로 정리
+ */
+@Component
+@Slf4j
+public class StagedFileUploader {
+
+    private final FileStorageService fileStorageService;
+    private final TaskExecutor uploadExecutor;
+
+    @Value("${app.upload.staging-ttl-minutes:60}")
+    private long stagingTtlMinutes;
+
+    public StagedFileUploader(FileStorageService fileStorageService,
+                              @Qualifier("uploadExecutor") TaskExecutor uploadExecutor) {
+        this.fileStorageService = fileStorageService;
+        this.uploadExecutor = uploadExecutor;
+    }
+
+    /**
+     * 파일들을 임시 영역에 병렬로 기록합니다. 하나라도 실패하면 기록된 파일을 모두 폐기합니다.
+     *
+     * @param files 업로드 파일 목록 (null 이나 빈 파일은 제외)
+     * @return 입력 순서대로 임시 저장된 파일 목록
+     */
+    public List<StagedFile> stageAll(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<StagedFile>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            if (file == null || file.isEmpty()) {
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return fileStorageService.stage(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, uploadExecutor));
+        }
+
+        List<StagedFile> staged = new ArrayList<>(futures.size());
+        IOException failure = null;
+        for (CompletableFuture<StagedFile> future : futures) {
+            try {
+                staged.add(future.join());
+            } catch (CompletionException e) {
+                // 나머지 업로드가 끝날 때까지 기다린 뒤 첫 번째 실패를 전달
+                if (failure == null) {
+                    failure = e.getCause() instanceof UncheckedIOException io ? io.getCause() : new IOException(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            discardAll(staged);
+            throw failure;
+        }
+        return staged;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 파일을 확정하고, 롤백되면 폐기하도록 등록합니다.
+     * 트랜잭션이 없으면 즉시 확정합니다.
+     * 참조 기록(reserve)은 호출한 트랜잭션 안에서 하고, 커밋 이후에는 파일 이동만 합니다.
+     * 확정은 afterCommit 에서 하므로, 같은 트랜잭션에서 이후에 등록된 afterCommit 작업(축소본 생성 등)은
+     * 파일이 제자리에 옮겨진 뒤에 실행됩니다. (afterCommit 은 모두 afterCompletion 보다 먼저 실행됨)
+     */
+    public void commitOnTransactionEnd(List<StagedFile> stagedFiles) {
+        if (stagedFiles.isEmpty()) {
+            return;
+        }
+        stagedFiles.forEach(fileStorageService::reserve);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitAll(stagedFiles);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                commitAll(stagedFiles);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    discardAll(stagedFiles);
+                }
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 파일을 삭제하도록 등록합니다. (롤백 시 파일 유지)
+     * 참조 해제(release)는 호출한 트랜잭션 안에서 하며, 트랜잭션이 없으면 즉시 삭제합니다.
+     */
+    public void deleteOnCommit(List<String> urls) {
+        if (urls.isEmpty()) {
+            return;
+        }
+        urls.forEach(fileStorageService::release);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteAll(urls);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteAll(urls);
+            }
+        });
+    }
+
+    public void discardAll(List<StagedFile> stagedFiles) {
+        stagedFiles.forEach(fileStorageService::discard);
+    }
+
+    private void commitAll(List<StagedFile> stagedFiles) {
+        for (StagedFile stagedFile : stagedFiles) {
+            try {
+                fileStorageService.commit(stagedFile);
+            } catch (IOException e) {
+                log.error("업로드 파일 확정 실패 - Staging: {}, URL: {}", stagedFile.stagingPath(), stagedFile.url(), e);
+            }
+        }
+    }
+
+    private void deleteAll(List<String> urls) {
+        for (String url : urls) {
+            try {
+                fileStorageService.delete(url);
+            } catch (IOException e) {
+                log.warn("파일 삭제 실패 - URL: {}", url, e);
+            }
+        }
+    }
+
+    /**
+     * 확정/폐기되지 못하고 남은 임시 파일을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.staging-cleanup-interval-ms:600000}")
+    public void purgeOrphans() {
+        try {
+            int purged = fileStorageService.purgeStagedBefore(Instant.now().minus(Duration.ofMinutes(stagingTtlMinutes)));
+            if (purged > 0) {
+                log.info("방치된 임시 업로드 파일 정리 - Count: {}", purged);
+            }
+        } catch (IOException e) {
+            log.error("임시 업로드 파일 정리 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- ============================================================
+-- 읽음 위치(watermark) 기반 안 읽은 메시지 수 조회용 인덱스
+--
+-- 안 읽은 메시지 수를 status 컬럼 대신 "id > 참여자의 lastReadMessageId" 로 계산하므로
+-- (room_id, id) 인덱스 범위 스캔으로 처리되도록 인덱스를 추가합니다.
+-- 운영 중인 테이블 잠금을 피하기 위해 CONCURRENTLY 로 생성합니다. (트랜잭션 밖에서 실행)
+-- ============================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_chat_messages_room_id_id ON chat_messages (room_id, id);
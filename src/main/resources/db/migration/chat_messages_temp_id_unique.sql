@@ -0,0 +1,21 @@
+-- ============================================================
+-- 채팅 메시지 중복 저장 방지 키 (room_id, sender_id, temp_id)
+--
+-- Kafka 리밸런스 등으로 같은 레코드가 다시 전달되어도 같은 메시지가 두 번 저장되지 않도록
+-- 클라이언트 임시 메시지 ID(temp_id)를 저장하고 유니크 인덱스로 보장합니다.
+-- temp_id 가 NULL 인 기존 메시지는 유니크 검사 대상이 아닙니다.
+-- 운영 중인 테이블 잠금을 피하기 위해 인덱스를 CONCURRENTLY 로 만든 뒤 제약조건으로 연결합니다. (트랜잭션 밖에서 실행)
+-- ============================================================
+
+ALTER TABLE chat_messages ADD COLUMN IF NOT EXISTS temp_id VARCHAR(64);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_chat_messages_room_sender_temp_id
+    ON chat_messages (room_id, sender_id, temp_id);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ux_chat_messages_room_sender_temp_id') THEN
+        ALTER TABLE chat_messages
+            ADD CONSTRAINT ux_chat_messages_room_sender_temp_id UNIQUE USING INDEX ux_chat_messages_room_sender_temp_id;
+    END IF;
+END $$;
@@ -0,0 +1,20 @@
+-- ============================================================
+-- 읽음 위치를 (메시지 생성일시, 메시지 ID) 로 비교하도록 전환
+--
+-- 메시지 ID 는 pooled 시퀀스(allocationSize = 50)로 서버마다 블록 단위로 할당되므로
+-- Kafka 파티션 재할당 이후 같은 채팅방에 더 작은 ID 가 저장될 수 있습니다.
+-- 읽음 위치 비교를 메시지 이력 커서와 같은 (create_date, id) 순서로 바꾸고,
+-- 기존 읽음 위치의 생성일시를 채웁니다.
+-- 신규 애플리케이션 버전 배포 직전에 한 번 실행합니다.
+-- ============================================================
+
+ALTER TABLE chat_room_participants ADD COLUMN IF NOT EXISTS last_read_message_create_date TIMESTAMP;
+
+UPDATE chat_room_participants p
+SET last_read_message_create_date = m.create_date
+FROM chat_messages m
+WHERE m.id = p.last_read_message_id
+  AND p.last_read_message_create_date IS NULL;
+
+-- 읽음 위치 계산은 (room_id, create_date, id) 인덱스를 사용하므로 (room_id, id) 인덱스는 더 이상 필요하지 않음
+DROP INDEX CONCURRENTLY IF EXISTS ix_chat_messages_room_id_id;
@@ -0,0 +1,17 @@
+-- ============================================================
+-- chat_rooms.active_participant_count 비정규화 컬럼 초기화
+--
+-- 컬럼 자체는 ddl-auto: update 로 생성되며(default 0),
+-- 기존 채팅방의 값을 실제 활성 참여자 수로 맞추기 위해 배포 후 한 번 실행합니다.
+-- 값이 어긋났다고 의심될 때 재실행해도 안전합니다.
+-- ============================================================
+
+ALTER TABLE chat_rooms ADD COLUMN IF NOT EXISTS active_participant_count integer NOT NULL DEFAULT 0;
+
+UPDATE chat_rooms cr
+SET active_participant_count = (
+    SELECT COUNT(*)
+    FROM chat_room_participants p
+    WHERE p.room_id = cr.id
+      AND p.is_active = true
+);
@@ -0,0 +1,32 @@
+-- ============================================================
+-- 엔티티 ID 시퀀스를 pooled 방식(allocationSize = 50)으로 전환
+--
+-- 엔티티의 @SequenceGenerator allocationSize 를 1 -> 50 으로 변경했기 때문에
+-- 기존 DB 시퀀스의 INCREMENT BY 도 50 으로 맞춰야 합니다.
+-- (불일치 시 Hibernate 가 기동 시점에 예외를 발생시킵니다)
+--
+-- pooled 옵티마이저는 nextval 값을 블록의 상한으로 사용하므로
+-- 현재 값이 N 이면 다음 블록은 N+1 ~ N+50 이 되어 기존 ID 와 겹치지 않습니다.
+--
+-- 신규 애플리케이션 버전 배포 직전에 한 번 실행합니다.
+-- (ddl-auto: update 는 기존 시퀀스의 증가값을 변경하지 않습니다)
+-- ============================================================
+
+ALTER SEQUENCE IF EXISTS chat_message_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS chat_room_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS chat_participant_sequence INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS post_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS post_photo_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS comment_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS tag_seq INCREMENT BY 50;
+
+-- profile.id 는 IDENTITY 컬럼이었으므로 컬럼에 연결된 시퀀스(profile_id_seq)의 증가값을 변경
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'profile' AND column_name = 'id' AND is_identity = 'YES') THEN
+        ALTER TABLE profile ALTER COLUMN id SET INCREMENT BY 50;
+    ELSE
+        ALTER SEQUENCE IF EXISTS profile_id_seq INCREMENT BY 50;
+    END IF;
+END $$;
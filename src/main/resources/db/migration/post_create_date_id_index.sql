@@ -0,0 +1,9 @@
+-- ============================================================
+-- 게시글 피드 keyset 페이지네이션용 인덱스
+--
+-- 피드는 (create_date, id) 역순으로 커서 이후의 게시글을 조회하므로
+-- 두 컬럼을 함께 가진 인덱스로 정렬 없이 범위 스캔되도록 합니다.
+-- 운영 중인 테이블 잠금을 피하기 위해 CONCURRENTLY 로 생성합니다. (트랜잭션 밖에서 실행)
+-- ============================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_post_create_date_id ON post (create_date, id);
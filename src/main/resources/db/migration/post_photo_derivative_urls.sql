@@ -0,0 +1,10 @@
+-- ============================================================
+-- 게시글 사진 축소본 경로 컬럼
+--
+-- small_url (피드/목록용), medium_url (상세 화면용) 은 게시글 저장 이후 비동기로 채워지며,
+-- 비어 있으면 조회 시 원본(img_url)을 대신 사용합니다.
+-- 기존 사진은 축소본 없이 원본으로 계속 제공됩니다. (일괄 생성하지 않음)
+-- ============================================================
+
+ALTER TABLE post_photo ADD COLUMN IF NOT EXISTS small_url VARCHAR(1000);
+ALTER TABLE post_photo ADD COLUMN IF NOT EXISTS medium_url VARCHAR(1000);
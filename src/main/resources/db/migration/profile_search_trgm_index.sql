@@ -0,0 +1,13 @@
+-- ============================================================
+-- 프로필 검색(이름/이메일 부분 일치)용 trigram 인덱스
+--
+-- lower(name/email) LIKE '%검색어%' 는 B-tree 인덱스를 사용할 수 없어 전체 테이블을 스캔하므로
+-- pg_trgm 의 GIN 인덱스로 후보 행만 찾도록 합니다. (3자 이상 검색어에서 효과가 큼)
+-- 정렬에 사용하는 similarity() 함수도 pg_trgm 확장이 제공합니다.
+-- 운영 중인 테이블 잠금을 피하기 위해 CONCURRENTLY 로 생성합니다. (트랜잭션 밖에서 실행)
+-- ============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_profile_name_trgm ON profile USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_profile_email_trgm ON profile USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,21 @@
+-- ============================================================
+-- 내용 주소(SHA-256) 기반 파일 저장소의 참조 수 테이블 (file.storage: cas)
+--
+-- 같은 내용의 파일은 한 번만 저장하고 게시글/프로필이 참조할 때마다 ref_count 를 올립니다.
+-- ref_count 가 0 인 채로 유예 시간(app.upload.cas.purge-grace-minutes)이 지나면
+-- 주기 작업이 행과 실제 파일(축소본 포함)을 함께 삭제합니다.
+-- 기존 UUID 이름의 파일은 이 테이블과 무관하게 종전대로 삭제됩니다.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS stored_blob (
+    file_name   VARCHAR(80) PRIMARY KEY,
+    size        BIGINT      NOT NULL,
+    ref_count   INTEGER     NOT NULL,
+    create_date TIMESTAMP   NOT NULL,
+    update_date TIMESTAMP   NOT NULL
+);
+
+-- 참조 수가 0 인 행만 담는 부분 인덱스 (정리 대상 조회용)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_stored_blob_unreferenced
+    ON stored_blob (update_date)
+    WHERE ref_count = 0;
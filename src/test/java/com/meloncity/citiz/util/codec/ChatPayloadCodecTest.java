@@ -0,0 +1,159 @@
+package com.meloncity.citiz.util.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.meloncity.citiz.domain.chat.ChatStatus;
+import com.meloncity.citiz.domain.chat.MessageType;
+import com.meloncity.citiz.dto.ChatMessageDto;
+import com.meloncity.citiz.dto.ParticipantNotificationDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatPayloadCodecTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final ChatPayloadCodec binaryCodec = codec("binary");
+    private final ChatPayloadCodec jsonCodec = codec("json");
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, 127L, 128L, 16_383L, 16_384L, Integer.MAX_VALUE, Long.MAX_VALUE, -1L, Long.MIN_VALUE})
+    @DisplayName("varint 경계값의 ID 가 그대로 복원된다")
+    void varintRoundTrip(long value) {
+        ChatMessageDto message = new ChatMessageDto();
+        message.setRoomId(value);
+        message.setSenderId(value);
+        message.setMessageId(value);
+
+        ChatMessageDto decoded = binaryCodec.decodeMessage(binaryCodec.encodeMessage(message));
+
+        assertThat(decoded).isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("1970년 이전 시각과 나노초가 zigzag varint 로 복원된다")
+    void dateTimeRoundTrip() {
+        ChatMessageDto message = new ChatMessageDto();
+        message.setTimestamp(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999));
+
+        assertThat(binaryCodec.decodeMessage(binaryCodec.encodeMessage(message))).isEqualTo(message);
+
+        message.setTimestamp(LocalDateTime.of(2026, 10, 18, 9, 30, 0, 123_000_000));
+        assertThat(binaryCodec.decodeMessage(binaryCodec.encodeMessage(message))).isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("모든 필드가 채워진 메시지가 그대로 복원된다")
+    void fullMessageRoundTrip() {
+        ChatMessageDto message = fullMessage();
+
+        ChatMessageDto decoded = binaryCodec.decodeMessage(binaryCodec.encodeMessage(message));
+
+        assertThat(decoded).isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("null 필드는 비트마스크에서 빠지고 null 로 복원된다")
+    void nullFieldsRoundTrip() {
+        ChatMessageDto empty = new ChatMessageDto();
+        byte[] encoded = binaryCodec.encodeMessage(empty);
+
+        // 헤더 3바이트 + 비트마스크 0 한 바이트
+        assertThat(encoded).isEqualTo(new byte[]{ChatPayloadCodec.MAGIC, 1, 1, 0});
+        assertThat(binaryCodec.decodeMessage(encoded)).isEqualTo(empty);
+
+        ChatMessageDto partial = new ChatMessageDto();
+        partial.setRoomId(7L);
+        partial.setContent("");
+        partial.setStatus(ChatStatus.READ);
+        partial.setTempId("temp-1");
+        assertThat(binaryCodec.decodeMessage(binaryCodec.encodeMessage(partial))).isEqualTo(partial);
+    }
+
+    @Test
+    @DisplayName("참여자 알림이 바이너리로 복원된다")
+    void notificationRoundTrip() {
+        ParticipantNotificationDto notification = new ParticipantNotificationDto(
+                3L, 42L, "멜론", ParticipantNotificationDto.NotificationType.LEAVE, LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+        byte[] encoded = binaryCodec.encodeNotification(notification);
+
+        assertThat(ChatPayloadCodec.isBinary(encoded)).isTrue();
+        assertThat(binaryCodec.decodeNotification(encoded)).isEqualTo(notification);
+        assertThat(binaryCodec.decodeNotification(binaryCodec.encodeNotification(new ParticipantNotificationDto())))
+                .isEqualTo(new ParticipantNotificationDto());
+    }
+
+    @Test
+    @DisplayName("바이너리와 JSON 이 섞여 있어도 어느 포맷의 코덱으로든 디코딩된다")
+    void mixedFormatsDecode() {
+        ChatMessageDto message = fullMessage();
+
+        byte[] binary = binaryCodec.encodeMessage(message);
+        byte[] json = jsonCodec.encodeMessage(message);
+
+        assertThat(ChatPayloadCodec.isBinary(binary)).isTrue();
+        assertThat(ChatPayloadCodec.isBinary(json)).isFalse();
+        assertThat(jsonCodec.decodeMessage(binary)).isEqualTo(message);
+        assertThat(binaryCodec.decodeMessage(json)).isEqualTo(message);
+    }
+
+    @Test
+    @DisplayName("JSON 참여자 알림은 @class 를 포함하고 모르는 필드는 무시한다")
+    void jsonNotificationCarriesTypeProperty() throws Exception {
+        ParticipantNotificationDto notification = new ParticipantNotificationDto(
+                3L, 42L, "멜론", ParticipantNotificationDto.NotificationType.JOIN, LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+        byte[] json = jsonCodec.encodeNotification(notification);
+        JsonNode tree = OBJECT_MAPPER.readTree(json);
+
+        assertThat(tree.fieldNames().next()).isEqualTo("@class");
+        assertThat(tree.get("@class").asText()).isEqualTo(ParticipantNotificationDto.class.getName());
+        assertThat(binaryCodec.decodeNotification(json)).isEqualTo(notification);
+        // 이전 버전 노드가 GenericJackson2JsonRedisSerializer 로 발행한 형식(날짜 배열)도 읽음
+        assertThat(binaryCodec.decodeNotification(OBJECT_MAPPER.writeValueAsBytes(notification))).isEqualTo(notification);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 열거형 ordinal 은 명확한 오류로 처리된다")
+    void unknownEnumOrdinalFails() {
+        // 비트마스크 1 << 4 (type) 만 설정하고 ordinal 99 를 기록
+        byte[] unknownType = {ChatPayloadCodec.MAGIC, 1, 1, 1 << 4, 99};
+
+        assertThatThrownBy(() -> binaryCodec.decodeMessage(unknownType))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("MessageType");
+    }
+
+    @Test
+    @DisplayName("잘린 바이너리 페이로드는 오류로 처리된다")
+    void truncatedPayloadFails() {
+        byte[] encoded = binaryCodec.encodeMessage(fullMessage());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThatThrownBy(() -> binaryCodec.decodeMessage(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ChatMessageDto fullMessage() {
+        return new ChatMessageDto(1L, 2L, "보내는 사람", "안녕하세요 👋", MessageType.CHAT, ChatStatus.SENT,
+                LocalDateTime.of(2026, 10, 18, 12, 0, 1, 500), "chat-messages-0@10", "temp-123", 300L);
+    }
+
+    private static ChatPayloadCodec codec(String format) {
+        ChatPayloadCodec codec = new ChatPayloadCodec(OBJECT_MAPPER);
+        ReflectionTestUtils.setField(codec, "formatProperty", format);
+        codec.initialize();
+        return codec;
+    }
+}